@@ -0,0 +1,87 @@
+package raisetech.student.management.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.StudentCourseStatusType;
+
+/**
+ * ベンチマーク用のデータを生成するクラス
+ * 受講生1人あたりCOURSES_PER_STUDENT件のコースを受講するものとして、受講件数（enrollments）から受講生数を決める
+ * 申し込み状況は受講生コースIDの順に仮申し込み、受講中、完了を繰り返す
+ */
+final class BenchmarkData {
+
+  static final int COURSES_PER_STUDENT = 3;
+  static final int COURSE_COUNT = 4;
+
+  final List<Student> students;
+  final List<StudentCourse> studentCourses;
+
+  private BenchmarkData(List<Student> students, List<StudentCourse> studentCourses) {
+    this.students = students;
+    this.studentCourses = studentCourses;
+  }
+
+  /**
+   * 受講件数を指定してデータを生成する（受講生ID、受講生コースIDの昇順）
+   * @param enrollments 受講件数
+   */
+  static BenchmarkData generate(int enrollments) {
+    int studentCount = studentCount(enrollments);
+    List<Student> students = new ArrayList<>(studentCount);
+    List<StudentCourse> studentCourses = new ArrayList<>(enrollments);
+    LocalDate startDate = LocalDate.of(2024, 1, 1);
+    int studentCourseId = 0;
+    for (int studentId = 1; studentId <= studentCount; studentId++) {
+      students.add(new Student(studentId, "bench" + studentId, "べんち", null,
+          "bench" + studentId + "@example.com", null, 20, null, null, false));
+      for (int i = 0; i < COURSES_PER_STUDENT && studentCourseId < enrollments; i++) {
+        studentCourseId++;
+        StudentCourse studentCourse = new StudentCourse(studentCourseId, studentId, startDate,
+            startDate.plusWeeks(16), (studentCourseId % COURSE_COUNT) + 1);
+        StudentCourseStatusType status = statusOf(studentCourseId);
+        studentCourse.setStatus(status);
+        studentCourses.add(studentCourse);
+      }
+    }
+    return new BenchmarkData(students, studentCourses);
+  }
+
+  /**
+   * generateと同じ構成のデータをデータベースに投入する（H2のSYSTEM_RANGEを使用）
+   * @param jdbcTemplate 投入先のデータベース
+   * @param enrollments 受講件数
+   */
+  static void insert(JdbcTemplate jdbcTemplate, int enrollments) {
+    jdbcTemplate.update("""
+        INSERT INTO courses (id, name, price)
+        SELECT X, CONCAT('course', X), 100000 FROM SYSTEM_RANGE(1, ?)
+        """, COURSE_COUNT);
+    jdbcTemplate.update("""
+        INSERT INTO students (id, name, kana_name, nickname, email, living_area, age, gender, remark, deleted)
+        SELECT X, CONCAT('bench', X), 'べんち', NULL, CONCAT('bench', X, '@example.com'), NULL, 20, NULL, NULL, 0
+        FROM SYSTEM_RANGE(1, ?)
+        """, studentCount(enrollments));
+    jdbcTemplate.update("""
+        INSERT INTO student_courses (id, student_id, start_date, end_due_date, course_id)
+        SELECT X, (X - 1) / ? + 1, DATE '2024-01-01', DATE '2024-04-25', MOD(X, ?) + 1
+        FROM SYSTEM_RANGE(1, ?)
+        """, COURSES_PER_STUDENT, COURSE_COUNT, enrollments);
+    jdbcTemplate.update("""
+        INSERT INTO student_course_statuses (student_course_id, status)
+        SELECT X, MOD(X, 3) + 1 FROM SYSTEM_RANGE(1, ?)
+        """, enrollments);
+  }
+
+  static int studentCount(int enrollments) {
+    return (enrollments + COURSES_PER_STUDENT - 1) / COURSES_PER_STUDENT;
+  }
+
+  private static StudentCourseStatusType statusOf(int studentCourseId) {
+    return StudentCourseStatusType.fromCode(studentCourseId % 3 + 1);
+  }
+}
@@ -0,0 +1,46 @@
+package raisetech.student.management.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.service.converter.StudentConverter;
+
+/**
+ * StudentConverterの変換処理のベンチマーク（データベースを使用せず、変換処理のみを計測する）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentConverterBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int enrollments;
+
+  private final StudentConverter converter = new StudentConverter();
+
+  private BenchmarkData data;
+
+  @Setup
+  public void setup() {
+    data = BenchmarkData.generate(enrollments);
+  }
+
+  @Benchmark
+  public List<StudentDetail> convertStudentDetails() {
+    return converter.convertStudentDetails(data.students, data.studentCourses);
+  }
+
+  @Benchmark
+  public void streamStudentDetails(Blackhole blackhole) {
+    converter.streamStudentDetails(data.students, data.studentCourses, blackhole::consume);
+  }
+}
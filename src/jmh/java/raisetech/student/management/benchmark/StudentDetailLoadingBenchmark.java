@@ -0,0 +1,75 @@
+package raisetech.student.management.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.student.management.Application;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.repository.StudentRepository;
+import raisetech.student.management.service.converter.StudentConverter;
+
+/**
+ * 受講生詳細情報の取得方法の比較のベンチマーク
+ * 受講生情報と受講生のコース情報を個別に検索してコンバーターで結合する方法と、
+ * 1回の検索で結合して取得する方法（resultMapによる組み立て）を比較する
+ * 結果が一致することはStudentRepositoryTestで確認する
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentDetailLoadingBenchmark {
+
+  @Param({"1000", "100000"})
+  private int enrollments;
+
+  private ConfigurableApplicationContext context;
+
+  private StudentRepository repository;
+
+  private StudentConverter converter;
+
+  @Setup
+  public void setup() {
+    // application.propertiesの接続先（MySQL）より優先させるため、コマンドライン引数として指定する
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.main.banner-mode=off",
+            "--student.read-model.enabled=false",
+            "--logging.level.root=WARN");
+    BenchmarkData.insert(context.getBean(JdbcTemplate.class), enrollments);
+    repository = context.getBean(StudentRepository.class);
+    converter = context.getBean(StudentConverter.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<StudentDetail> twoQueriesAndConverter() {
+    return converter.convertStudentDetails(repository.searchStudents(), repository.searchStudentCourses());
+  }
+
+  @Benchmark
+  public List<StudentDetail> joinedQuery() {
+    return repository.searchStudentDetails();
+  }
+}
@@ -0,0 +1,57 @@
+package raisetech.student.management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.service.converter.StudentConverter;
+
+/**
+ * 受講生詳細情報（StudentDetail）のJSONシリアライズのベンチマーク
+ * ObjectMapperはSpring Bootの既定と同じく日付を文字列として出力する設定とする
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentDetailSerializationBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int enrollments;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+      .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .build();
+
+  private List<StudentDetail> studentDetails;
+
+  @Setup
+  public void setup() {
+    BenchmarkData data = BenchmarkData.generate(enrollments);
+    studentDetails = new StudentConverter().convertStudentDetails(data.students, data.studentCourses);
+  }
+
+  /**
+   * 出力先のバッファの拡張を計測に含めないよう、書き込んだ内容を破棄する出力先にシリアライズする
+   */
+  @Benchmark
+  public void serializeStudentDetails() throws IOException {
+    objectMapper.writeValue(OutputStream.nullOutputStream(), studentDetails);
+  }
+
+  @Benchmark
+  public byte[] serializeStudentDetailsToBytes() throws IOException {
+    return objectMapper.writeValueAsBytes(studentDetails);
+  }
+}
@@ -0,0 +1,83 @@
+package raisetech.student.management.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.student.management.Application;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.service.StudentService;
+
+/**
+ * StudentServiceの検索処理のベンチマーク
+ * MySQLモードのインメモリH2データベースを使用してアプリケーションを起動し（Webサーバーは起動しない）、
+ * Flywayでスキーマを作成した後にBenchmarkDataと同じ構成のデータを投入する
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentServiceBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int enrollments;
+
+  private ConfigurableApplicationContext context;
+
+  private StudentService service;
+
+  @Setup
+  public void setup() {
+    // application.propertiesの接続先（MySQL）より優先させるため、コマンドライン引数として指定する
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.main.banner-mode=off",
+            // データベースでの検索を計測するため、一覧検索用の読み取りモデルは使用しない（データは起動後に投入する）
+            "--student.read-model.enabled=false",
+            "--logging.level.root=WARN");
+    BenchmarkData.insert(context.getBean(JdbcTemplate.class), enrollments);
+    service = context.getBean(StudentService.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<StudentDetail> searchStudentDetails() {
+    return service.searchStudentDetails();
+  }
+
+  @Benchmark
+  public List<StudentDetail> searchStudentDetailsInProgress() {
+    return service.searchStudentDetailsInProgress();
+  }
+
+  @Benchmark
+  public List<StudentDetail> searchStudentDetailsPreEnrollment() {
+    return service.searchStudentDetailsPreEnrollment();
+  }
+
+  @Benchmark
+  public List<StudentDetail> searchStudentDetailsByStatuses() {
+    return service.searchStudentDetailsByStatuses(
+        List.of(StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.COMPLETED));
+  }
+}
@@ -0,0 +1,255 @@
+package raisetech.student.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 一覧のレスポンスをJSONにシリアライズした結果（バイト列）を保持するキャッシュ
+ *
+ * 保持した結果は呼び出し元が指定するデータの版数（DataVersion）が変わるまで有効で、更新後の最初のリクエストで検索し直して置き換える
+ * 版数は呼び出し元が検索前に求めるため、検索中に更新された場合は古い版数で保持され、次のリクエストで検索し直される
+ * 保持する合計サイズには上限があり、超えた場合は最も長く使用されていないものから削除する
+ * gzipを有効にした場合は圧縮して保持し、gzipに対応するクライアントには圧縮したまま返却する
+ *
+ * メトリクス: student.response.cache.requests（result=hit/miss）、student.response.cache.hit.ratio、
+ * student.response.cache.size（バイト数）、student.response.cache.entries
+ */
+@Component
+public class SerializedResponseCache implements MeterBinder {
+
+  private final ObjectMapper objectMapper;
+  private final long maxBytes;
+  private final long maxEntryBytes;
+  private final boolean gzip;
+
+  // アクセス順（最も長く使用されていないものが先頭）
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  @Autowired
+  public SerializedResponseCache(ObjectMapper objectMapper,
+      @Value("${student.response-cache.max-size:64MB}") DataSize maxSize,
+      @Value("${student.response-cache.max-entry-size:16MB}") DataSize maxEntrySize,
+      @Value("${student.response-cache.gzip:false}") boolean gzip) {
+    this.objectMapper = objectMapper;
+    this.maxBytes = maxSize.toBytes();
+    this.maxEntryBytes = Math.min(maxEntrySize.toBytes(), maxBytes);
+    this.gzip = gzip;
+  }
+
+  /**
+   * 指定した版数のレスポンスを返却し、ない場合は検索してシリアライズした結果を保持して返却する
+   * 版数は検索前に求めたもの（検索結果はこの版数以降のデータであること）を指定する
+   * @param key キャッシュのキー（エンドポイントと検索条件ごとに一意）
+   * @param version 検索結果に対応するデータの版数
+   * @param acceptsGzip クライアントがgzipに対応しているかどうか
+   * @param loader 検索処理
+   * @return JSONのバイト列（gzipが有効でクライアントが対応している場合は圧縮したもの）
+   */
+  public ResponseEntity<byte[]> getOrLoad(String key, long version, boolean acceptsGzip, Supplier<?> loader) {
+    byte[] body = get(key, version);
+    if (body != null) {
+      hitCount.incrementAndGet();
+    } else {
+      missCount.incrementAndGet();
+      body = serialize(loader.get());
+      put(key, version, body);
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    if (gzip) {
+      headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      if (acceptsGzip) {
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+      } else {
+        body = decompress(body);
+      }
+    }
+    headers.setContentLength(body.length);
+    return new ResponseEntity<>(body, headers, HttpStatus.OK);
+  }
+
+  /**
+   * Accept-Encodingヘッダーがgzipを受け入れるかどうか
+   * 品質値（q）が0のもの（例: gzip;q=0）は受け入れないものとして扱う
+   * gzip（x-gzip）の指定がない場合は、*の指定に従う
+   * @param acceptEncoding Accept-Encodingヘッダーの値（ない場合はnull）
+   * @return gzipを受け入れる場合はtrue
+   */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Double gzipQuality = null;
+    Double wildcardQuality = null;
+    for (String element : acceptEncoding.split(",")) {
+      String[] parts = element.split(";");
+      String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+      double quality = quality(parts);
+      if (coding.equals("gzip") || coding.equals("x-gzip")) {
+        gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+      } else if (coding.equals("*")) {
+        wildcardQuality = quality;
+      }
+    }
+    if (gzipQuality != null) {
+      return gzipQuality > 0;
+    }
+    return wildcardQuality != null && wildcardQuality > 0;
+  }
+
+  /**
+   * Accept-Encodingの要素の品質値（指定がない場合は1、不正な場合は0）
+   */
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.length() >= 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  /**
+   * 保持しているレスポンスをすべて削除する
+   */
+  public synchronized void clear() {
+    entries.clear();
+    totalBytes = 0;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("student.response.cache.requests", hitCount, AtomicLong::get)
+        .description("一覧のレスポンスのキャッシュの参照回数")
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("student.response.cache.requests", missCount, AtomicLong::get)
+        .description("一覧のレスポンスのキャッシュの参照回数")
+        .tag("result", "miss")
+        .register(registry);
+    Gauge.builder("student.response.cache.hit.ratio", this, SerializedResponseCache::hitRatio)
+        .description("一覧のレスポンスのキャッシュのヒット率")
+        .register(registry);
+    Gauge.builder("student.response.cache.size", this, SerializedResponseCache::totalBytes)
+        .description("一覧のレスポンスのキャッシュが保持しているバイト数")
+        .baseUnit("bytes")
+        .register(registry);
+    Gauge.builder("student.response.cache.entries", this, SerializedResponseCache::entryCount)
+        .description("一覧のレスポンスのキャッシュが保持している件数")
+        .register(registry);
+  }
+
+  double hitRatio() {
+    long hits = hitCount.get();
+    long total = hits + missCount.get();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  synchronized long totalBytes() {
+    return totalBytes;
+  }
+
+  synchronized int entryCount() {
+    return entries.size();
+  }
+
+  private synchronized byte[] get(String key, long version) {
+    Entry entry = entries.get(key);
+    return entry != null && entry.version == version ? entry.body : null;
+  }
+
+  private synchronized void put(String key, long version, byte[] body) {
+    if (body.length > maxEntryBytes) {
+      return;
+    }
+    // 古い版数のものは以降使用されないため、新しい版数のものを保持する時点でまとめて削除する
+    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next().getValue();
+      if (entry.version < version) {
+        totalBytes -= entry.body.length;
+        iterator.remove();
+      }
+    }
+    Entry previous = entries.get(key);
+    if (previous != null && previous.version > version) {
+      return;
+    }
+    if (previous != null) {
+      totalBytes -= previous.body.length;
+    }
+    entries.put(key, new Entry(version, body));
+    totalBytes += body.length;
+    // 上限を超えた場合は最も長く使用されていないものから削除する
+    Iterator<Entry> eldest = entries.values().iterator();
+    while (totalBytes > maxBytes && eldest.hasNext()) {
+      totalBytes -= eldest.next().body.length;
+      eldest.remove();
+    }
+  }
+
+  private byte[] serialize(Object value) {
+    try {
+      if (!gzip) {
+        return objectMapper.writeValueAsBytes(value);
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+        objectMapper.writeValue(gzipOut, value);
+      }
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] decompress(byte[] body) {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final class Entry {
+    private final long version;
+    private final byte[] body;
+
+    private Entry(long version, byte[] body) {
+      this.version = version;
+      this.body = body;
+    }
+  }
+}
@@ -1,10 +1,27 @@
 package raisetech.student.management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,19 +30,31 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import raisetech.student.management.data.Course;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.data.StudentCourseStatus;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.CourseEnrollmentCount;
 import raisetech.student.management.domain.CourseForJson;
 import raisetech.student.management.domain.ResponseForDelete;
+import raisetech.student.management.domain.StudentBulkRegistrationResult;
+import raisetech.student.management.domain.StudentCount;
 import raisetech.student.management.domain.StudentCourseForJson;
+import raisetech.student.management.domain.StudentCourseStatusCount;
+import raisetech.student.management.domain.StudentCourseStatusTransitionForJson;
+import raisetech.student.management.domain.StudentCourseStatusTransitionResult;
 import raisetech.student.management.domain.StudentCourseWithStatus;
 import raisetech.student.management.domain.StudentDetail;
 import raisetech.student.management.domain.StudentDetailForJson;
+import raisetech.student.management.domain.StudentDetailPage;
 import raisetech.student.management.exception.ResourceConflictException;
 import raisetech.student.management.exception.ResourceNotFoundException;
+import raisetech.student.management.service.DataVersion;
+import raisetech.student.management.service.StudentBulkRegistrationService;
 import raisetech.student.management.service.StudentService;
 
 /**
@@ -35,35 +64,167 @@ import raisetech.student.management.service.StudentService;
 @RestController
 public class StudentController {
 
+  // ページングで1ページに取得できる最大件数
+  private static final int MAX_PAGE_SIZE = 1000;
+  // 受講生一括検索で指定できる受講生IDの最大件数
+  private static final int MAX_LOOKUP_SIZE = 10000;
+
   private StudentService service;
+  private StudentBulkRegistrationService bulkRegistrationService;
+  private ObjectMapper objectMapper;
+  private DataVersion dataVersion;
+  private SerializedResponseCache responseCache;
 
   @Autowired
-  public StudentController(StudentService service) {
+  public StudentController(StudentService service, StudentBulkRegistrationService bulkRegistrationService,
+      ObjectMapper objectMapper, DataVersion dataVersion, SerializedResponseCache responseCache) {
     this.service = service;
+    this.bulkRegistrationService = bulkRegistrationService;
+    this.objectMapper = objectMapper;
+    this.dataVersion = dataVersion;
+    this.responseCache = responseCache;
   }
 
   /**
    * 受講生一覧検索
    * 全件検索を実施するので、条件指定なし
+   * データが更新されていない場合（If-None-MatchがETagと一致する場合）は検索せずに304を返却する
+   * シリアライズした結果はデータが更新されるまで保持し、以降は検索せずに返却する
    * @return 受講生一覧
    */
   @Operation(summary = "受講生一覧検索", description = "全ての受講生情報を取得します")
+  @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+      array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))))
   @GetMapping("/students")
-  public List<StudentDetail> getStudents() throws ResourceNotFoundException {
+  public ResponseEntity<byte[]> getStudents(WebRequest webRequest) {
+    long version = service.searchStudentDetailsVersion();
+    if (notModified(webRequest, version)) {
+      return null;
+    }
+
+    return responseCache.getOrLoad("students", version, acceptsGzip(webRequest), service::searchStudentDetails);
+  }
+
+  /**
+   * 受講生一覧検索（ページング）
+   * 受講生IDによるキーセットページングのため、後ろのページでも最初のページと同じコストで検索できる
+   * @param limit 1ページの件数
+   * @param after この受講生IDより後の受講生を検索（最初のページは0、以降は前のページのnextCursor）
+   * @return 受講生一覧の1ページ分と次のページのカーソル
+   */
+  @Operation(summary = "受講生一覧検索（ページング）", description = "受講生情報を受講生IDの昇順に指定件数ずつ取得します")
+  @GetMapping(value = "/students", params = "limit")
+  public StudentDetailPage getStudentPage(@RequestParam @Positive @Max(MAX_PAGE_SIZE) int limit,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int after) {
+    return service.searchStudentDetailPage(after, limit);
+  }
+
+  /**
+   * 受講生一括検索（複数idに基づく）
+   * 受講生IDごとに検索せず、まとめて検索する（受講生ID1000件ごとに2回の検索）
+   * @param ids 受講生ID一覧（カンマ区切り）
+   * @return 指定した受講生IDの順序の受講生詳細情報一覧（存在しない受講生IDは含まない）
+   */
+  @Operation(summary = "受講生一括検索", description = "指定された複数のIDの受講生情報（コース情報含む）を指定された順序で取得します")
+  @GetMapping(value = "/students", params = "ids")
+  public List<StudentDetail> getStudentsByIds(
+      @RequestParam @NotEmpty @Size(max = MAX_LOOKUP_SIZE) List<@NotNull @Positive Integer> ids) {
+    return service.searchStudentDetailsByIds(ids);
+  }
+
+  /**
+   * 受講生一括検索（複数idに基づく、URLに収まらない件数の受講生IDを指定する場合）
+   * @param ids 受講生ID一覧（JSON配列）
+   * @return 指定した受講生IDの順序の受講生詳細情報一覧（存在しない受講生IDは含まない）
+   */
+  @Operation(summary = "受講生一括検索（POST）", description = "リクエストボディで指定された複数のIDの受講生情報（コース情報含む）を指定された順序で取得します")
+  @PostMapping("/students/byIds")
+  public List<StudentDetail> searchStudentsByIds(
+      @RequestBody @NotEmpty @Size(max = MAX_LOOKUP_SIZE) List<@NotNull @Positive Integer> ids) {
+    return service.searchStudentDetailsByIds(ids);
+  }
+
+  /**
+   * 受講生一覧の一括出力
+   * 受講生詳細情報を検索しながら1件ずつレスポンスに書き出すため、件数に関わらずメモリ使用量は一定で、
+   * 検索の完了を待たずに最初のデータが返却される
+   * @param format 出力形式（json: JSON配列、ndjson: 1行に1件のJSON）
+   * @param response
+   */
+  @Operation(summary = "受講生一覧の一括出力", description = "全ての受講生情報をJSON配列またはNDJSON形式で逐次出力します")
+  @GetMapping("/students/export")
+  public void exportStudents(@RequestParam(defaultValue = "json") @Pattern(regexp = "json|ndjson") String format,
+      HttpServletResponse response) throws IOException {
+    boolean ndjson = format.equals("ndjson");
+    response.setContentType(ndjson ? "application/x-ndjson" : MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+    StudentDetailStreamWriter writer = new StudentDetailStreamWriter(response.getOutputStream(), objectMapper, ndjson);
+    writer.start();
+    service.exportStudentDetails(writer::write);
+    writer.finish();
+  }
+
+  /**
+   * 受講生数検索
+   * 件数はデータベース側で数えるため、受講生情報は取得しない
+   * データが更新されていない場合（If-None-MatchがETagと一致する場合）は検索せずに304を返却する
+   * @return 受講生数（論理削除されていない受講生数と論理削除されている受講生数）
+   */
+  @Operation(summary = "受講生数検索", description = "論理削除されていない受講生数と論理削除されている受講生数を取得します")
+  @GetMapping("/students/count")
+  public StudentCount countStudents(WebRequest webRequest) {
+    if (notModified(webRequest)) {
+      return null;
+    }
+
+    return service.countStudents();
+  }
 
-    List<StudentDetail> studentDetails = service.searchStudentDetails();
+  /**
+   * 申し込み状況ごとの受講生コース数検索
+   * 集計はデータベース側で行うため、受講生情報やコース情報は取得しない
+   * データが更新されていない場合（If-None-MatchがETagと一致する場合）は検索せずに304を返却する
+   * @return 申し込み状況ごとの受講生コース数と受講生数（論理削除されている受講生は除外）
+   */
+  @Operation(summary = "申し込み状況ごとの受講生コース数検索", description = "申し込み状況ごとに受講生コース数と受講生数を取得します（論理削除されている受講生は除外）")
+  @GetMapping("/students/count/byStatus")
+  public List<StudentCourseStatusCount> countStudentCoursesByStatus(WebRequest webRequest) {
+    if (notModified(webRequest)) {
+      return null;
+    }
+
+    return service.countStudentCoursesByStatus();
+  }
+
+  /**
+   * コースごとの受講生コース数検索
+   * 集計はデータベース側で行うため、受講生情報やコース情報は取得しない
+   * データが更新されていない場合（If-None-MatchがETagと一致する場合）は検索せずに304を返却する
+   * @return コースごとの受講生コース数と受講生数（論理削除されている受講生は除外）
+   */
+  @Operation(summary = "コースごとの受講生コース数検索", description = "コースごとに受講生コース数と受講生数を取得します（論理削除されている受講生は除外）")
+  @GetMapping("/students/count/byCourse")
+  public List<CourseEnrollmentCount> countStudentCoursesByCourse(WebRequest webRequest) {
+    if (notModified(webRequest)) {
+      return null;
+    }
 
-    return studentDetails;
+    return service.countStudentCoursesByCourse();
   }
 
   /**
    * 受講生検索（単一idに基づく）
+   * データが更新されていない場合（If-None-MatchがETagと一致する場合）は検索せずに304を返却する
    * @param id
    * @return idに対応する受講生情報
    */
   @Operation(summary = "受講生検索", description = "指定されたIDの受講生情報（コース情報含む）を取得します")
   @GetMapping("/students/{id}")
-  public StudentDetail getStudent(@PathVariable @Positive int id) throws ResourceNotFoundException {
+  public StudentDetail getStudent(@PathVariable @Positive int id, WebRequest webRequest) throws ResourceNotFoundException {
+    if (notModified(webRequest)) {
+      return null;
+    }
 
     StudentDetail studentDetail = service.searchStudentDetailById(id);
 
@@ -89,6 +250,21 @@ public class StudentController {
     return ResponseEntity.ok(studentDetail);
   }
 
+  /**
+   * 受講生一括登録
+   * 入力チェックは受講生ごとに行い、問題のある受講生は登録せずにエラー内容を返却する（他の受講生は登録される）
+   * @param studentDetailsForJson 受講生登録情報一覧（受講生情報＋初期コースid）
+   * @return 登録した受講生詳細情報一覧と、登録できなかった受講生のエラー内容
+   */
+  @Operation(summary = "受講生一括登録", description = "複数の新規の受講生情報（初期コース情報含む）をまとめて登録します")
+  @PostMapping("/registerStudents")
+  public ResponseEntity<StudentBulkRegistrationResult> registerStudents(
+      @RequestBody @NotEmpty List<StudentDetailForJson> studentDetailsForJson) {
+    StudentBulkRegistrationResult result = bulkRegistrationService.registerStudents(studentDetailsForJson);
+
+    return ResponseEntity.ok(result);
+  }
+
   /**
    * 受講生更新
    * @param studentDetail
@@ -135,6 +311,8 @@ public class StudentController {
 
   /**
    * 受講生論理削除
+   * 削除できなかった場合は例外が送出されるため、削除フラグは検索し直さずにtrueとする
+   * （検索し直すと、レプリカが設定されている場合に削除前のデータを返却する可能性がある）
    * @param id
    * @return idと削除フラグの組み合わせ
    */
@@ -145,8 +323,7 @@ public class StudentController {
 
     service.deleteStudent(id);
 
-    boolean deleted = service.searchStudentById(id).isDeleted();
-    ResponseForDelete response = new ResponseForDelete(id, deleted);
+    ResponseForDelete response = new ResponseForDelete(id, true);
     return ResponseEntity.ok(response);
   }
 
@@ -184,24 +361,133 @@ public class StudentController {
     return ResponseEntity.ok(studentCourseStatus);
   }
 
+  /**
+   * 受講生コース申し込み状況の一括更新（「受講中」または「完了」）
+   * 更新できない受講生コースがあっても他の受講生コースは更新し、更新できなかった理由を返却する
+   * @param studentCourseStatusTransitionForJson 受講生コースID一覧と更新後の申し込み状況
+   * @return 更新した受講生コースIDと、更新できなかった受講生コースIDおよびその理由
+   */
+  @Operation(summary = "受講生コース申し込み状況の一括更新", description = "指定された複数の受講生コースの申し込み状況を「受講中」または「完了」にまとめて更新します")
+  @PatchMapping("/updateStudentCourseStatuses")
+  public ResponseEntity<StudentCourseStatusTransitionResult> updateStudentCourseStatuses(
+      @RequestBody @Valid StudentCourseStatusTransitionForJson studentCourseStatusTransitionForJson) {
+    StudentCourseStatusTransitionResult result = service.updateStudentCourseStatuses(
+        studentCourseStatusTransitionForJson.getStudentCourseIds(),
+        StudentCourseStatusType.fromLabel(studentCourseStatusTransitionForJson.getStatus()));
+
+    return ResponseEntity.ok(result);
+  }
+
   /**
    * 受講中の受講生一覧検索
+   * データが更新されていない場合（If-None-MatchがETagと一致する場合）は検索せずに304を返却する
+   * シリアライズした結果はデータが更新されるまで保持し、以降は検索せずに返却する
    * @return 受講中の受講生詳細一覧
    */
+  @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+      array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))))
   @GetMapping("/students/inProgress")
-  public List<StudentDetail> getStudentsInProgress() {
-    List<StudentDetail> studentDetails = service.searchStudentDetailsInProgress();
-    return studentDetails;
+  public ResponseEntity<byte[]> getStudentsInProgress(WebRequest webRequest) {
+    long version = service.searchStudentDetailsVersion();
+    if (notModified(webRequest, version)) {
+      return null;
+    }
+    return responseCache.getOrLoad("students/inProgress", version, acceptsGzip(webRequest),
+        service::searchStudentDetailsInProgress);
+  }
+
+  /**
+   * 受講中の受講生一覧検索（ページング）
+   * @param limit 1ページの件数
+   * @param after この受講生IDより後の受講生を検索（最初のページは0、以降は前のページのnextCursor）
+   * @return 受講中の受講生詳細一覧の1ページ分と次のページのカーソル
+   */
+  @GetMapping(value = "/students/inProgress", params = "limit")
+  public StudentDetailPage getStudentPageInProgress(@RequestParam @Positive @Max(MAX_PAGE_SIZE) int limit,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int after) {
+    return service.searchStudentDetailPageInProgress(after, limit);
   }
 
   /**
    * 仮申し込みの受講生一覧検索
+   * データが更新されていない場合（If-None-MatchがETagと一致する場合）は検索せずに304を返却する
+   * シリアライズした結果はデータが更新されるまで保持し、以降は検索せずに返却する
    * @return 仮申し込みの受講生詳細一覧
    */
+  @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+      array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))))
   @GetMapping("/students/preEnrollment")
-  public List<StudentDetail> getStudentsPreEnrollment() {
-    List<StudentDetail> studentDetails = service.searchStudentDetailsPreEnrollment();
-    return studentDetails;
+  public ResponseEntity<byte[]> getStudentsPreEnrollment(WebRequest webRequest) {
+    long version = service.searchStudentDetailsVersion();
+    if (notModified(webRequest, version)) {
+      return null;
+    }
+    return responseCache.getOrLoad("students/preEnrollment", version, acceptsGzip(webRequest),
+        service::searchStudentDetailsPreEnrollment);
+  }
+
+  /**
+   * 仮申し込みの受講生一覧検索（ページング）
+   * @param limit 1ページの件数
+   * @param after この受講生IDより後の受講生を検索（最初のページは0、以降は前のページのnextCursor）
+   * @return 仮申し込みの受講生詳細一覧の1ページ分と次のページのカーソル
+   */
+  @GetMapping(value = "/students/preEnrollment", params = "limit")
+  public StudentDetailPage getStudentPagePreEnrollment(@RequestParam @Positive @Max(MAX_PAGE_SIZE) int limit,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int after) {
+    return service.searchStudentDetailPagePreEnrollment(after, limit);
+  }
+
+  /**
+   * 申し込み状況を指定した受講生一覧検索
+   * データが更新されていない場合（If-None-MatchがETagと一致する場合）は検索せずに304を返却する
+   * シリアライズした結果は申し込み状況の組み合わせごとにデータが更新されるまで保持し、以降は検索せずに返却する
+   * @param statuses 申し込み状況（複数指定可、仮申し込み・受講中・完了以外を指定した場合は400）
+   * @return 指定した申し込み状況のいずれかに該当するコースを含む受講生詳細一覧
+   */
+  @Operation(summary = "申し込み状況を指定した受講生一覧検索", description = "指定された申し込み状況（複数指定可）のいずれかに該当するコースを含む受講生情報を取得します")
+  @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+      array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))))
+  @GetMapping("/students/byStatus")
+  public ResponseEntity<byte[]> getStudentsByStatuses(
+      @RequestParam @NotEmpty List<@NotNull @Pattern(regexp = "仮申し込み|受講中|完了") String> statuses,
+      WebRequest webRequest) {
+    long version = service.searchStudentDetailsVersion();
+    if (notModified(webRequest, version)) {
+      return null;
+    }
+    List<StudentCourseStatusType> statusTypes = statuses.stream()
+        .map(StudentCourseStatusType::fromLabel)
+        .toList();
+    // 指定の順序や重複によらず、同じ組み合わせは同じキーとする
+    EnumSet<StudentCourseStatusType> statusSet = EnumSet.noneOf(StudentCourseStatusType.class);
+    statusSet.addAll(statusTypes);
+    return responseCache.getOrLoad("students/byStatus" + statusSet, version, acceptsGzip(webRequest),
+        () -> service.searchStudentDetailsByStatuses(statusTypes));
+  }
+
+  /**
+   * データの版数から求めたETagとリクエストのIf-None-Matchを比較する
+   * 一致する場合はレスポンスを304とし、一致しない場合はレスポンスにETagを設定する
+   * ETagは検索前に求めるため、検索中に更新された場合は次のリクエストで改めて検索される
+   * @return 一致する場合はtrue（呼び出し元は検索せずにnullを返却する）
+   */
+  private boolean notModified(WebRequest webRequest) {
+    return webRequest.checkNotModified(dataVersion.etag());
+  }
+
+  /**
+   * 一覧検索の結果に対応するデータの版数から求めたETagとリクエストのIf-None-Matchを比較する
+   * 一覧検索は読み取りモデルから返却する場合があるため、版数はStudentService#searchStudentDetailsVersionで求める
+   * @param version 一覧検索の結果に対応するデータの版数
+   * @return 一致する場合はtrue（呼び出し元は検索せずにnullを返却する）
+   */
+  private boolean notModified(WebRequest webRequest, long version) {
+    return webRequest.checkNotModified(dataVersion.etag(version));
+  }
+
+  private boolean acceptsGzip(WebRequest webRequest) {
+    return SerializedResponseCache.acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
   }
 
 }
@@ -0,0 +1,71 @@
+package raisetech.student.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * 受講生詳細情報をレスポンスに1件ずつ書き出すクラス
+ * JSON配列形式、またはNDJSON形式（1行に1件のJSON）で書き出す
+ */
+class StudentDetailStreamWriter {
+
+  // 一定件数ごとにクライアントへ送り出す
+  private static final int FLUSH_INTERVAL = 100;
+
+  private final OutputStream out;
+  private final ObjectWriter objectWriter;
+  private final boolean ndjson;
+  private int count;
+
+  StudentDetailStreamWriter(OutputStream out, ObjectMapper objectMapper, boolean ndjson) {
+    this.out = out;
+    this.objectWriter = objectMapper.writerFor(StudentDetail.class);
+    this.ndjson = ndjson;
+  }
+
+  /**
+   * 書き出しを開始する（JSON配列形式の場合は配列の開始を書き出す）
+   */
+  void start() throws IOException {
+    if (!ndjson) {
+      out.write('[');
+    }
+  }
+
+  /**
+   * 受講生詳細情報を1件書き出す
+   * @param studentDetail 受講生詳細情報
+   */
+  void write(StudentDetail studentDetail) {
+    try {
+      if (!ndjson && count > 0) {
+        out.write(',');
+      }
+      out.write(objectWriter.writeValueAsBytes(studentDetail));
+      if (ndjson) {
+        out.write('\n');
+      }
+      count++;
+      // 最初の1件は検索の完了を待たずにすぐ送り出す
+      if (count == 1 || count % FLUSH_INTERVAL == 0) {
+        out.flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 書き出しを終了する（JSON配列形式の場合は配列の終了を書き出す）
+   */
+  void finish() throws IOException {
+    if (!ndjson) {
+      out.write(']');
+    }
+    out.flush();
+  }
+}
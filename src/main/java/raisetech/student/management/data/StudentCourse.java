@@ -16,6 +16,7 @@ public class StudentCourse {
   private LocalDate endDueDate;
   private int courseId;
   private String courseName; // データベースには含まれない、表示用のフィールド
+  private StudentCourseStatusType status; // student_coursesには含まれない、表示用のフィールド（申し込み状況）
 
 //  @Insert用のコンストラクタ
   public StudentCourse(int studentId, LocalDate startDate, LocalDate endDueDate, int courseId) {
@@ -60,12 +61,13 @@ public class StudentCourse {
         courseId == that.courseId &&
         Objects.equals(startDate, that.startDate) &&
         Objects.equals(endDueDate, that.endDueDate) &&
-        Objects.equals(courseName, that.courseName);
+        Objects.equals(courseName, that.courseName) &&
+        Objects.equals(status, that.status);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, studentId, startDate, endDueDate, courseId, courseName);
+    return Objects.hash(id, studentId, startDate, endDueDate, courseId, courseName, status);
   }
 
 }
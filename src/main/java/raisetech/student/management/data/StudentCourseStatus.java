@@ -13,13 +13,13 @@ import lombok.Setter;
 public class StudentCourseStatus {
   private final int id;
   private int studentCourseId;
-  private String status;
+  private StudentCourseStatusType status;
 
   // @Insert用
   public StudentCourseStatus(int studentCourseId) {
     this.id = 0;
     this.studentCourseId = studentCourseId;
-    this.status = "仮申し込み";
+    this.status = StudentCourseStatusType.PRE_ENROLLMENT;
   }
 
   // テスト用にequalsとhashCodeをオーバーライド
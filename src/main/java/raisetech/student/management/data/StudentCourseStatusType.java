@@ -0,0 +1,79 @@
+package raisetech.student.management.data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Optional;
+
+/**
+ * 受講生コースの申し込み状況
+ * データベースには整数のコードで保存し、JSONでは表示名（仮申し込み、受講中、完了）で入出力する
+ */
+@Schema(description = "受講生コースの申し込み状況", type = "string", allowableValues = {"仮申し込み", "受講中", "完了"})
+public enum StudentCourseStatusType {
+  PRE_ENROLLMENT(1, "仮申し込み"),
+  IN_PROGRESS(2, "受講中"),
+  COMPLETED(3, "完了");
+
+  private final int code;
+  private final String label;
+
+  StudentCourseStatusType(int code, String label) {
+    this.code = code;
+    this.label = label;
+  }
+
+  /**
+   * データベースに保存するコード
+   */
+  public int getCode() {
+    return code;
+  }
+
+  /**
+   * 表示名
+   */
+  @JsonValue
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * コードに対応する申し込み状況
+   * @param code データベースに保存されたコード
+   * @return 申し込み状況（該当しないコードの場合はnull、申し込み状況が不正なものとして扱う）
+   */
+  public static StudentCourseStatusType fromCode(int code) {
+    for (StudentCourseStatusType status : values()) {
+      if (status.code == code) {
+        return status;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 表示名に対応する申し込み状況
+   * @param label 表示名
+   * @return 申し込み状況（該当しない表示名の場合は空）
+   */
+  public static Optional<StudentCourseStatusType> findByLabel(String label) {
+    for (StudentCourseStatusType status : values()) {
+      if (status.label.equals(label)) {
+        return Optional.of(status);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * 表示名に対応する申し込み状況（JSONの読み込み用）
+   * @param label 表示名
+   * @return 申し込み状況
+   */
+  @JsonCreator
+  public static StudentCourseStatusType fromLabel(String label) {
+    return findByLabel(label)
+        .orElseThrow(() -> new IllegalArgumentException("申し込み状況が不正です: " + label));
+  }
+}
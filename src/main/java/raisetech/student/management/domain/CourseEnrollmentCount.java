@@ -0,0 +1,21 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Schema(description = "コースごとの受講生コース数と受講生数（論理削除されている受講生を除く）を保持するクラス")
+@Getter
+@AllArgsConstructor
+public class CourseEnrollmentCount {
+
+  private int courseId;
+
+  private String courseName;
+
+  @Schema(description = "このコースの受講生コース数")
+  private long enrollments;
+
+  @Schema(description = "このコースを受講している受講生数")
+  private long students;
+}
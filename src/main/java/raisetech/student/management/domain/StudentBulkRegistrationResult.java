@@ -0,0 +1,15 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Schema(description = "受講生の一括登録結果を保持するクラス")
+@Getter
+@AllArgsConstructor
+public class StudentBulkRegistrationResult {
+  private List<StudentDetail> registeredStudentDetails;
+  private List<StudentRegistrationError> errors;
+
+}
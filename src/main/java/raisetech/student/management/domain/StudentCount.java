@@ -0,0 +1,17 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Schema(description = "受講生数（論理削除されていない受講生数と論理削除されている受講生数）を保持するクラス")
+@Getter
+@AllArgsConstructor
+public class StudentCount {
+
+  @Schema(description = "論理削除されていない受講生数")
+  private long students;
+
+  @Schema(description = "論理削除されている受講生数")
+  private long deletedStudents;
+}
@@ -0,0 +1,20 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import raisetech.student.management.data.StudentCourseStatusType;
+
+@Schema(description = "申し込み状況ごとの受講生コース数と受講生数（論理削除されている受講生を除く）を保持するクラス")
+@Getter
+@AllArgsConstructor
+public class StudentCourseStatusCount {
+
+  private StudentCourseStatusType status;
+
+  @Schema(description = "この申し込み状況の受講生コース数")
+  private long enrollments;
+
+  @Schema(description = "この申し込み状況の受講生コースを持つ受講生数")
+  private long students;
+}
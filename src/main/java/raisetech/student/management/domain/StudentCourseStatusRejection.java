@@ -0,0 +1,14 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Schema(description = "申し込み状況を更新できなかった受講生コースとその理由を保持するクラス")
+@Getter
+@AllArgsConstructor
+public class StudentCourseStatusRejection {
+  private int studentCourseId;
+  private String reason;
+
+}
@@ -0,0 +1,25 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Schema(description = "受講生コース申し込み状況を一括更新するためのクラス")
+@AllArgsConstructor
+@Getter
+public class StudentCourseStatusTransitionForJson {
+  @NotEmpty
+  @Size(max = 1000)
+  private List<@NotNull @Positive Integer> studentCourseIds;
+
+  @NotNull
+  @Pattern(regexp = "受講中|完了")
+  private String status;
+
+}
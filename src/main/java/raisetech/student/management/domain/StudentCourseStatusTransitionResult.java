@@ -0,0 +1,17 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import raisetech.student.management.data.StudentCourseStatusType;
+
+@Schema(description = "受講生コース申し込み状況の一括更新結果を保持するクラス")
+@Getter
+@AllArgsConstructor
+public class StudentCourseStatusTransitionResult {
+  private StudentCourseStatusType status; // 更新後の申し込み状況
+  private List<Integer> updatedStudentCourseIds;
+  private List<StudentCourseStatusRejection> rejections;
+
+}
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import lombok.Getter;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.data.StudentCourseStatus;
+import raisetech.student.management.data.StudentCourseStatusType;
 
 @Schema(description = "受講生のコース情報に申し込み状況を追加したクラス")
 @Getter
@@ -14,7 +15,7 @@ public class StudentCourseWithStatus {
   private LocalDate startDate;
   private LocalDate endDueDate;
   private int courseId;
-  private String status; // 申し込み状況
+  private StudentCourseStatusType status; // 申し込み状況
 
   public StudentCourseWithStatus(StudentCourse studentCourse, StudentCourseStatus studentCourseStatus) {
     this.id = studentCourse.getId();
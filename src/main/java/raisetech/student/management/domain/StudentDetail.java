@@ -3,8 +3,10 @@ package raisetech.student.management.domain;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
 
@@ -14,6 +16,7 @@ import raisetech.student.management.data.StudentCourse;
 @Schema(description = "受講生情報とその受講コース情報を保持するクラス")
 @Getter
 @AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PRIVATE) // MyBatisのresultMap用のコンストラクタ
 public class StudentDetail {
 
   @Valid
@@ -0,0 +1,17 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Schema(description = "受講生詳細情報の1ページ分と次のページのカーソルを保持するクラス")
+@Getter
+@AllArgsConstructor
+public class StudentDetailPage {
+
+  private List<StudentDetail> studentDetails;
+
+  @Schema(description = "次のページを検索する際にafterに指定する受講生ID（次のページがない場合はnull）")
+  private Integer nextCursor;
+}
@@ -0,0 +1,15 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Schema(description = "一括登録で登録できなかった受講生のエラー内容を保持するクラス")
+@Getter
+@AllArgsConstructor
+public class StudentRegistrationError {
+  private int index; // リクエストの一覧における位置（0始まり）
+  private Map<String, String> messages; // フィールド名とエラーメッセージの組み合わせ
+
+}
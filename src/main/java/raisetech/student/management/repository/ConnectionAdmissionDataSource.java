@@ -0,0 +1,115 @@
+package raisetech.student.management.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 同時に使用できる接続数をセマフォで制限するDataSource
+ *
+ * 接続の取得時に許可を得て、接続のclose時に許可を返す（許可の数はコネクションプールの最大数とは別に設定する）
+ * 仮想スレッドでリクエストを処理する場合、スレッド数ではなくこの許可の数がデータベースに同時にアクセスできる数となり、
+ * 許可を待つ間は仮想スレッドがキャリアスレッドを占有せずに待機する
+ * 許可は公平（到着順）に与え、待ち時間がタイムアウトを超えた場合はSQLTransientConnectionExceptionを送出する
+ * Beanの破棄時には包んでいるコネクションプールを閉じる（Beanとして登録されるのはこのクラスのため）
+ */
+public class ConnectionAdmissionDataSource extends DelegatingDataSource implements AutoCloseable {
+
+  private final Semaphore permits;
+  private final long timeoutMillis;
+
+  public ConnectionAdmissionDataSource(DataSource targetDataSource, int maxConnections, long timeoutMillis) {
+    super(targetDataSource);
+    this.permits = new Semaphore(maxConnections, true);
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return releaseOnClose(super.getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return releaseOnClose(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * 現在使用できる許可の数（テスト、監視用）
+   */
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  /**
+   * 包んでいるDataSourceを閉じる（コネクションプールなどAutoCloseableの場合のみ）
+   */
+  @Override
+  public void close() throws Exception {
+    if (getTargetDataSource() instanceof AutoCloseable targetDataSource) {
+      targetDataSource.close();
+    }
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "データベース接続の取得待ちがタイムアウトしました（" + timeoutMillis + "ms）");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("データベース接続の取得待ちが中断されました", e);
+    }
+  }
+
+  /**
+   * closeが呼ばれたときに1回だけ許可を返すConnectionを返す
+   */
+  private Connection releaseOnClose(Connection connection) {
+    AtomicBoolean released = new AtomicBoolean();
+    InvocationHandler handler = (proxy, method, args) -> {
+      if (method.getName().equals("close")) {
+        try {
+          return invoke(connection, method, args);
+        } finally {
+          if (released.compareAndSet(false, true)) {
+            permits.release();
+          }
+        }
+      }
+      return invoke(connection, method, args);
+    };
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+        new Class<?>[] {Connection.class}, handler);
+  }
+
+  private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(connection, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package raisetech.student.management.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * コネクションプール（HikariCP）をConnectionAdmissionDataSourceで包むBeanPostProcessor
+ * student.datasource.admission.max-concurrencyが設定されている場合のみ有効となる
+ *
+ * 許可の数はプールの最大接続数とは別に設定する（プールと同じ数ではHikariCPの接続の取得待ちと同じ制限にしかならないため、
+ * プールより小さくして、仮想スレッドで処理するリクエストが一度に使用できる接続数をプールの一部に抑える場合に使用する）
+ * 許可はプールごとに管理する（レプリカが設定されている場合は、プライマリとレプリカのそれぞれで同じ数となる）
+ */
+@Component
+@ConditionalOnProperty(name = "student.datasource.admission.max-concurrency")
+public class ConnectionAdmissionPostProcessor implements BeanPostProcessor {
+
+  private final int maxConcurrency;
+  private final Duration timeout;
+
+  @Autowired
+  public ConnectionAdmissionPostProcessor(
+      @Value("${student.datasource.admission.max-concurrency}") int maxConcurrency,
+      @Value("${student.datasource.admission.timeout:30s}") Duration timeout) {
+    this.maxConcurrency = maxConcurrency;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof HikariDataSource dataSource) {
+      return new ConnectionAdmissionDataSource(dataSource, maxConcurrency, timeout.toMillis());
+    }
+    return bean;
+  }
+}
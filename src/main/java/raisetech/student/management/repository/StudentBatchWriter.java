@@ -0,0 +1,63 @@
+package raisetech.student.management.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.StudentCourseStatus;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * 受講生情報の一括登録を行うクラス
+ *
+ * MyBatisのBATCHモード（ExecutorType.BATCH）で同じINSERT文をまとめて送信するため、件数分の往復が発生しない
+ * 受講生情報、受講生のコース情報、申し込み状況の順に登録し、それぞれの送信後に採番されたIDを次の登録に用いる
+ * 呼び出し元のトランザクション内で実行すること（同じトランザクションで通常のMapperを併用しないこと）
+ */
+@Component
+public class StudentBatchWriter {
+
+  private final SqlSessionTemplate batchSqlSession;
+  private final StudentRepository batchRepository;
+
+  @Autowired
+  public StudentBatchWriter(SqlSessionFactory sqlSessionFactory) {
+    // 通常のMapperはSIMPLEモードのまま使用するため、Beanとしては登録せずにこのクラス専用に生成する
+    this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    this.batchRepository = batchSqlSession.getMapper(StudentRepository.class);
+  }
+
+  /**
+   * 受講生詳細情報（受講生情報＋コース情報）をまとめて登録
+   * 登録後、受講生情報と受講生のコース情報には採番されたIDが設定される
+   * @param studentDetails 受講生詳細情報一覧
+   */
+  public void insertStudentDetails(List<StudentDetail> studentDetails) {
+    // ①受講生情報を登録（送信時に受講生IDが設定される）
+    for (StudentDetail studentDetail : studentDetails) {
+      batchRepository.insertStudent(studentDetail.getStudent());
+    }
+    batchSqlSession.flushStatements();
+
+    // ②コース情報を登録（送信時に受講生コースIDが設定される）
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    for (StudentDetail studentDetail : studentDetails) {
+      for (StudentCourse studentCourse : studentDetail.getStudentCourses()) {
+        studentCourse.setStudentId(studentDetail.getStudent().getId());
+        batchRepository.insertStudentCourse(studentCourse);
+        studentCourses.add(studentCourse);
+      }
+    }
+    batchSqlSession.flushStatements();
+
+    // ③申し込み状況を登録
+    for (StudentCourse studentCourse : studentCourses) {
+      batchRepository.insertStudentCourseStatus(new StudentCourseStatus(studentCourse.getId()));
+    }
+    batchSqlSession.flushStatements();
+  }
+}
@@ -1,12 +1,20 @@
 package raisetech.student.management.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import raisetech.student.management.data.Course;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.data.StudentCourseStatus;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.CourseEnrollmentCount;
+import raisetech.student.management.domain.StudentCourseStatusCount;
+import raisetech.student.management.domain.StudentDetail;
 
 /**
  * 受講生情報を扱うリポジトリ
@@ -23,11 +31,81 @@ public interface StudentRepository {
   List<Student> searchStudents();
 
   /**
-   * 受講生のコース情報を全件検索
+   * 受講生IDより後の受講生情報を受講生IDの昇順に指定件数だけ検索（論理削除されているものは除外）
+   * 受講生IDによるキーセットページングのため、後ろのページでも検索コストは変わらない
+   * @param after この受講生IDより大きい受講生を検索
+   * @param limit 検索する最大件数
+   * @param status 申し込み状況（指定した場合はその申し込み状況のコースを持つ受講生に限定、nullの場合は限定しない）
+   * @return 受講生情報一覧
+   */
+  List<Student> searchStudentsAfter(@Param("after") int after, @Param("limit") int limit, @Param("status") StudentCourseStatusType status);
+
+  /**
+   * 受講生のコース情報を全件検索（コース名も結合して取得）
    * @return 受講生のコース情報一覧
    */
   List<StudentCourse> searchStudentCourses();
 
+  /**
+   * 受講生詳細情報を全件検索（論理削除されているものは除外）
+   * 受講生情報、コース情報、コース名、申し込み状況を1回の検索で結合して取得
+   * @return 受講生詳細情報一覧（受講生IDの昇順）
+   */
+  List<StudentDetail> searchStudentDetails();
+
+  /**
+   * 申し込み状況を指定して受講生詳細情報を検索（論理削除されているものは除外）
+   * 該当するコースを持つ受講生とそのコースのみをデータベース側で絞り込んで取得
+   * @param status 申し込み状況
+   * @return 受講生詳細情報一覧（受講生IDの昇順、該当するコースのみを含む）
+   */
+  List<StudentDetail> searchStudentDetailsByStatus(StudentCourseStatusType status);
+
+  /**
+   * 申し込み状況を複数指定して受講生詳細情報を検索（論理削除されているものは除外）
+   * 申し込み状況による絞り込みはデータベース側で行い、いずれかの申し込み状況のコースを持つ受講生とそのコースのみを1回の検索で取得する
+   * @param statuses 申し込み状況（1件以上）
+   * @return 受講生詳細情報一覧（受講生IDの昇順、該当するコースのみを含む）
+   */
+  List<StudentDetail> searchStudentDetailsByStatuses(@Param("statuses") Collection<StudentCourseStatusType> statuses);
+
+  /**
+   * 受講生情報を受講生IDの昇順に逐次読み込み（論理削除されているものは除外）
+   * 読み込み終わるまでトランザクション内でCursorを保持すること
+   * @return 受講生情報のCursor
+   */
+  Cursor<Student> streamStudents();
+
+  /**
+   * 受講生のコース情報を受講生IDの昇順に逐次読み込み（コース名と申し込み状況も結合して取得）
+   * 読み込み終わるまでトランザクション内でCursorを保持すること
+   * @return 受講生のコース情報のCursor
+   */
+  Cursor<StudentCourse> streamStudentCourses();
+
+  /**
+   * 受講生IDを指定して受講生詳細情報を検索
+   * 受講生情報、コース情報、コース名、申し込み状況を1回の検索で結合して取得
+   * @param id
+   * @return 受講生詳細情報
+   */
+  Optional<StudentDetail> searchStudentDetailById(int id);
+
+  /**
+   * 受講生IDを複数指定して受講生詳細情報を検索（論理削除されているものも含む）
+   * 受講生情報、コース情報、コース名、申し込み状況を1回の検索で結合して取得
+   * @param studentIds 受講生IDの一覧（空でないこと）
+   * @return 受講生詳細情報一覧（受講生IDの昇順、存在しない受講生IDは含まない）
+   */
+  List<StudentDetail> searchStudentDetailsByIds(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 受講生コースIDを複数指定して受講生IDを検索
+   * @param studentCourseIds 受講生コースIDの一覧（空でないこと）
+   * @return 受講生ID一覧（重複なし、存在しない受講生コースIDは含まない）
+   */
+  List<Integer> searchStudentIdsByStudentCourseIds(@Param("studentCourseIds") List<Integer> studentCourseIds);
+
   /**
    * 受講生IDを指定して受講生情報を検索
    * @param id
@@ -36,12 +114,53 @@ public interface StudentRepository {
   Optional<Student> searchStudentById(int id);
 
   /**
-   * 受講生IDを指定して受講生のコース情報を検索
+   * 受講生IDを指定して受講生のコース情報を検索（コース名も結合して取得）
    * @param studentId
    * @return
    */
   List<StudentCourse> searchStudentCoursesByStudentId(int studentId);
 
+  /**
+   * 受講生IDを複数指定して受講生情報を検索（論理削除されているものも含む）
+   * @param studentIds 受講生IDの一覧（空でないこと）
+   * @return 受講生情報一覧（受講生IDの昇順、存在しない受講生IDは含まない）
+   */
+  List<Student> searchStudentsByIds(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 受講生IDを複数指定して受講生のコース情報を検索（コース名と申し込み状況も結合して取得）
+   * @param studentIds 受講生IDの一覧（空でないこと）
+   * @param status 申し込み状況（指定した場合はその申し込み状況のコースに限定、nullの場合は限定しない）
+   * @return 受講生のコース情報一覧
+   */
+  List<StudentCourse> searchStudentCoursesByStudentIds(@Param("studentIds") List<Integer> studentIds, @Param("status") StudentCourseStatusType status);
+
+  /**
+   * 論理削除されていない受講生数を検索
+   * @return 受講生数
+   */
+  long countStudents();
+
+  /**
+   * 論理削除されている受講生数を検索
+   * @return 受講生数
+   */
+  long countDeletedStudents();
+
+  /**
+   * 申し込み状況ごとに受講生コース数と受講生数を集計（論理削除されている受講生は除外）
+   * 集計はデータベース側で行うため、件数に関わらず申し込み状況の数の行のみを取得する
+   * @return 申し込み状況ごとの件数（申し込み状況のコードの昇順、該当する受講生コースがない申し込み状況は含まない）
+   */
+  List<StudentCourseStatusCount> countStudentCoursesByStatus();
+
+  /**
+   * コースごとに受講生コース数と受講生数を集計（論理削除されている受講生は除外）
+   * 集計はデータベース側で行うため、件数に関わらずコースの数の行のみを取得する
+   * @return コースごとの件数（コースIDの昇順、受講生がいないコースも含む）
+   */
+  List<CourseEnrollmentCount> countStudentCoursesByCourse();
+
   /**
    * コース情報を全件検索
    * @return
@@ -85,12 +204,6 @@ public interface StudentRepository {
    */
   void deleteStudent(int id);
 
-  /**
-   * 受講生のコース申し込み状況を全件検索
-   * @return 受講生のコース申し込み状況一覧
-   */
-  List<StudentCourseStatus> searchStudentCourseStatuses();
-
   /**
    * 受講生のコース申し込み状況をIDを指定して検索
    * @param id
@@ -112,40 +225,59 @@ public interface StudentRepository {
   void insertStudentCourseStatus(StudentCourseStatus studentCourseStatus);
 
   /**
-   * 受講生のコース申し込み状況を受講中に更新
+   * 受講生のコース申し込み状況を受講中に更新（現在の申し込み状況が仮申し込みの場合のみ）
    * @param studentCourseId
+   * @return 更新件数（更新できなかった場合は0）
    */
-  void updateStudentCourseStatusInProgress(int studentCourseId);
+  int updateStudentCourseStatusInProgress(int studentCourseId);
 
   /**
-   * 受講生のコース申し込み状況を完了に更新
+   * 受講生のコース申し込み状況を完了に更新（現在の申し込み状況が受講中の場合のみ）
    * @param studentCourseId
+   * @return 更新件数（更新できなかった場合は0）
    */
-  void updateStudentCourseStatusCompleted(int studentCourseId);
+  int updateStudentCourseStatusCompleted(int studentCourseId);
 
   /**
-   * 受講生コース情報をIDを指定して検索
-   * @param id
+   * 受講生コースIDを複数指定して申し込み状況を検索（更新のために行ロックを取得）
+   * @param studentCourseIds 受講生コースID一覧
+   * @return 申し込み状況一覧（存在しない受講生コースIDの分は含まれない）
    */
-  Optional<StudentCourse> searchStudentCourseById(int id);
+  List<StudentCourseStatus> searchStudentCourseStatusesByStudentCourseIdsForUpdate(
+      @Param("studentCourseIds") List<Integer> studentCourseIds);
 
   /**
-   * 受講生コース情報を更新
-   * @param studentCourse
+   * 受講生コースIDを複数指定して申し込み状況をまとめて更新
+   * 現在の申し込み状況がfromStatusのものだけを更新する
+   * @param studentCourseIds 受講生コースID一覧
+   * @param fromStatus 更新前の申し込み状況
+   * @param toStatus 更新後の申し込み状況
+   * @return 更新件数
    */
-  void updateStudentCourse(StudentCourse studentCourse);
+  int updateStudentCourseStatuses(@Param("studentCourseIds") List<Integer> studentCourseIds,
+      @Param("fromStatus") StudentCourseStatusType fromStatus, @Param("toStatus") StudentCourseStatusType toStatus);
+
+  /**
+   * 受講生コースIDを複数指定して受講開始日と受講終了予定日をまとめて更新
+   * @param studentCourseIds 受講生コースID一覧
+   * @param startDate 受講開始日
+   * @param endDueDate 受講終了予定日
+   * @return 更新件数
+   */
+  int updateStudentCourseDates(@Param("studentCourseIds") List<Integer> studentCourseIds,
+      @Param("startDate") LocalDate startDate, @Param("endDueDate") LocalDate endDueDate);
 
   /**
-   * 仮申し込みの受講生コース申し込み状況を全件検索
-   * @return 仮申し込みの受講生コース申し込み状況一覧
+   * 受講生コース情報をIDを指定して検索
+   * @param id
    */
-  List<StudentCourseStatus> searchStudentCourseStatusesPreEnrollment();
+  Optional<StudentCourse> searchStudentCourseById(int id);
 
   /**
-   * 受講中の受講生コース申し込み状況を全件検索
-   * @return 受講中の受講生コース申し込み状況一覧
+   * 受講生コース情報を更新
+   * @param studentCourse
    */
-  List<StudentCourseStatus> searchStudentCourseStatusesInProgress();
+  void updateStudentCourse(StudentCourse studentCourse);
 
 
 }
@@ -0,0 +1,133 @@
+package raisetech.student.management.repository.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapperの文（MappedStatement）ごとに処理時間と件数を記録するMyBatisのInterceptor
+ *
+ * 記録するメトリクス（タグstatementに「Mapper名.文のID」、タグcommandにSELECT、UPDATEなどを設定）
+ * ・mybatis.statement.duration: 処理時間（呼び出し回数を含む）、p50とp99のパーセンタイルを出力する
+ * ・mybatis.statement.rows: 検索の取得件数、更新の更新件数
+ * Actuatorの/actuator/metricsから文ごとに参照できる（例: mybatis.statement.duration.percentile?tag=phi:0.99）
+ *
+ * メーターは文ごとに1回だけ生成して保持するため、呼び出しごとの処理は時刻の取得と記録のみとなる
+ * Cursorによる検索は読み込みが呼び出し後に行われるため対象外とする
+ * BATCHモードの更新は送信時まで件数が確定しないため、処理時間のみを記録する
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+  static final String DURATION_METRIC_NAME = "mybatis.statement.duration";
+  static final String ROWS_METRIC_NAME = "mybatis.statement.rows";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, StatementMeters> statementMeters = new ConcurrentHashMap<>();
+
+  @Autowired
+  public StatementMetricsInterceptor(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+    long start = System.nanoTime();
+    Object result = null;
+    try {
+      result = invocation.proceed();
+      return result;
+    } finally {
+      StatementMeters meters = metersOf(mappedStatement);
+      meters.duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      int rows = rowCountOf(result);
+      if (rows >= 0) {
+        meters.rows.record(rows);
+      }
+    }
+  }
+
+  private StatementMeters metersOf(MappedStatement mappedStatement) {
+    StatementMeters meters = statementMeters.get(mappedStatement.getId());
+    if (meters != null) {
+      return meters;
+    }
+    return statementMeters.computeIfAbsent(mappedStatement.getId(), id -> createMeters(mappedStatement));
+  }
+
+  private StatementMeters createMeters(MappedStatement mappedStatement) {
+    String statement = statementNameOf(mappedStatement.getId());
+    String command = mappedStatement.getSqlCommandType().name();
+    Timer duration = Timer.builder(DURATION_METRIC_NAME)
+        .description("Mapperの文ごとの処理時間")
+        .tag("statement", statement)
+        .tag("command", command)
+        .publishPercentiles(0.5, 0.99)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    DistributionSummary rows = DistributionSummary.builder(ROWS_METRIC_NAME)
+        .description("Mapperの文ごとの取得件数または更新件数")
+        .baseUnit("rows")
+        .tag("statement", statement)
+        .tag("command", command)
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    return new StatementMeters(duration, rows);
+  }
+
+  /**
+   * 文のID（Mapperの完全修飾名.文のID）からパッケージ名を除いた名前を返す
+   */
+  static String statementNameOf(String id) {
+    int methodSeparator = id.lastIndexOf('.');
+    int packageSeparator = methodSeparator > 0 ? id.lastIndexOf('.', methodSeparator - 1) : -1;
+    return id.substring(packageSeparator + 1);
+  }
+
+  /**
+   * 検索結果の件数、または更新件数を返す（件数が確定しない場合は-1）
+   */
+  private static int rowCountOf(Object result) {
+    if (result instanceof Collection<?> collection) {
+      return collection.size();
+    }
+    if (result instanceof Integer updateCount && updateCount >= 0) {
+      return updateCount;
+    }
+    return -1;
+  }
+
+  private static final class StatementMeters {
+    private final Timer duration;
+    private final DistributionSummary rows;
+
+    private StatementMeters(Timer duration, DistributionSummary rows) {
+      this.duration = duration;
+      this.rows = rows;
+    }
+  }
+}
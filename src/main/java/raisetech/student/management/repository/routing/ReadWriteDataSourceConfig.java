@@ -0,0 +1,63 @@
+package raisetech.student.management.repository.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * プライマリとレプリカの2つのコネクションプールを作成し、読み取り専用トランザクションをレプリカに振り分ける設定
+ * student.datasource.replica.jdbc-urlが設定されている場合のみ有効となり、設定されていない場合はspring.datasourceの1つのみを使用する
+ *
+ * プライマリ: spring.datasource.*（プールの設定はspring.datasource.hikari.*）
+ * レプリカ: student.datasource.replica.*（jdbc-url、username、password、maximum-pool-sizeなどHikariCPの設定）
+ * 遅延時の切り替え: student.datasource.replica-lag.*（ReplicaLagMonitor）
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "student.datasource.replica.jdbc-url")
+public class ReadWriteDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @ConfigurationProperties("student.datasource.replica")
+  public HikariDataSource replicaDataSource() {
+    return new HikariDataSource();
+  }
+
+  /**
+   * レプリカの遅延を確認するクラス
+   * fallback-to-primaryがtrueの場合、遅延がmax-secondsを超えたときは検索をプライマリで実行する
+   */
+  @Bean(destroyMethod = "close")
+  public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+      @Value("${student.datasource.replica-lag.query:}") String lagQuery,
+      @Value("${student.datasource.replica-lag.max-seconds:5}") long maxLagSeconds,
+      @Value("${student.datasource.replica-lag.check-interval:1s}") Duration checkInterval) {
+    ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagSeconds);
+    monitor.start(checkInterval);
+    return monitor;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") DataSource replicaDataSource, ReplicaLagMonitor replicaLagMonitor,
+      @Value("${student.datasource.replica-lag.fallback-to-primary:true}") boolean fallbackToPrimary) {
+    ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primaryDataSource,
+        replicaDataSource, fallbackToPrimary ? replicaLagMonitor : () -> true);
+    return new LazyConnectionDataSourceProxy(routingDataSource);
+  }
+}
@@ -0,0 +1,42 @@
+package raisetech.student.management.repository.routing;
+
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 読み取り専用トランザクションをレプリカに、それ以外をプライマリに振り分けるDataSource
+ *
+ * トランザクションの読み取り専用の設定は接続の取得後に有効になるため、
+ * LazyConnectionDataSourceProxyで包み、最初のSQLの実行時に振り分けること
+ * レプリカが使用できない場合（replicaAvailableがfalseの場合）は、読み取り専用トランザクションもプライマリに振り分ける
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+  /**
+   * 振り分け先
+   */
+  public enum Route {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final BooleanSupplier replicaAvailable;
+
+  public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, BooleanSupplier replicaAvailable) {
+    this.replicaAvailable = replicaAvailable;
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Route determineCurrentLookupKey() {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaAvailable.getAsBoolean()) {
+      return Route.REPLICA;
+    }
+    return Route.PRIMARY;
+  }
+}
@@ -0,0 +1,86 @@
+package raisetech.student.management.repository.routing;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * レプリカの遅延を定期的に確認し、レプリカを使用できるかどうかを返すクラス
+ *
+ * 遅延（秒）を返すSQL（例: ハートビート表の最終更新時刻と現在時刻の差）をレプリカで実行し、
+ * 上限を超えた場合、またはSQLの実行に失敗した場合はレプリカを使用できないものとする
+ * SQLが設定されていない場合は遅延を確認せず、常にレプリカを使用できるものとする
+ */
+@Slf4j
+public class ReplicaLagMonitor implements BooleanSupplier, AutoCloseable {
+
+  private final JdbcTemplate replicaJdbcTemplate;
+  private final String lagQuery;
+  private final long maxLagSeconds;
+  private final ScheduledExecutorService scheduler;
+  private volatile boolean available = true;
+
+  public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds) {
+    this.replicaJdbcTemplate = new JdbcTemplate(replica);
+    this.lagQuery = lagQuery;
+    this.maxLagSeconds = maxLagSeconds;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replica-lag-monitor");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * 遅延の定期的な確認を開始する（SQLが設定されていない場合は何もしない）
+   * @param interval 確認の間隔
+   */
+  public void start(Duration interval) {
+    if (lagQuery == null || lagQuery.isBlank()) {
+      return;
+    }
+    check();
+    scheduler.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * レプリカの遅延を確認する
+   */
+  public void check() {
+    if (lagQuery == null || lagQuery.isBlank()) {
+      return;
+    }
+    boolean wasAvailable = available;
+    try {
+      Long lagSeconds = replicaJdbcTemplate.queryForObject(lagQuery, Long.class);
+      available = lagSeconds != null && lagSeconds <= maxLagSeconds;
+      if (wasAvailable && !available) {
+        log.warn("レプリカの遅延が上限を超えたため、検索をプライマリで実行します（遅延: {}秒、上限: {}秒）", lagSeconds, maxLagSeconds);
+      }
+    } catch (DataAccessException e) {
+      available = false;
+      if (wasAvailable) {
+        log.warn("レプリカの遅延を確認できないため、検索をプライマリで実行します", e);
+      }
+    }
+    if (!wasAvailable && available) {
+      log.info("レプリカの遅延が上限内に戻ったため、検索をレプリカで実行します");
+    }
+  }
+
+  @Override
+  public boolean getAsBoolean() {
+    return available;
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+}
@@ -0,0 +1,42 @@
+package raisetech.student.management.repository.typehandler;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedTypes;
+import raisetech.student.management.data.StudentCourseStatusType;
+
+/**
+ * 申し込み状況（StudentCourseStatusType）とデータベースの整数のコードを相互に変換するTypeHandler
+ * mybatis.type-handlers-packageで登録され、StudentCourseStatusType型のプロパティとパラメーターに適用される
+ */
+@MappedTypes(StudentCourseStatusType.class)
+public class StudentCourseStatusTypeHandler extends BaseTypeHandler<StudentCourseStatusType> {
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, StudentCourseStatusType parameter, JdbcType jdbcType)
+      throws SQLException {
+    ps.setInt(i, parameter.getCode());
+  }
+
+  @Override
+  public StudentCourseStatusType getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    int code = rs.getInt(columnName);
+    return rs.wasNull() ? null : StudentCourseStatusType.fromCode(code);
+  }
+
+  @Override
+  public StudentCourseStatusType getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    int code = rs.getInt(columnIndex);
+    return rs.wasNull() ? null : StudentCourseStatusType.fromCode(code);
+  }
+
+  @Override
+  public StudentCourseStatusType getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    int code = cs.getInt(columnIndex);
+    return cs.wasNull() ? null : StudentCourseStatusType.fromCode(code);
+  }
+}
@@ -0,0 +1,152 @@
+package raisetech.student.management.service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * コース情報のキャッシュ
+ *
+ * コース情報は件数が少なく更新もコース登録時に限られるため、起動時に全件読み込んでメモリ上に保持する
+ * コース登録時はコミット後にキャッシュにも反映し（ライトスルー）、コースIDに基づく検索をデータベースへの問い合わせなしで行う
+ * 保持するコース情報は変更しないMapで持ち、読み込み直しや登録のたびに新しいMapに差し替える
+ * キャッシュに存在しないコースの検索で全件読み込み直すのは、前回の読み込みから一定時間（min-refresh-interval）が経過した場合のみとし、
+ * 存在しないコースIDを繰り返し指定されてもデータベースへの問い合わせが増えないようにする
+ * 読み込み直しと登録の反映はReentrantLockで排他する（検索中に待機する仮想スレッドがキャリアスレッドを占有しないよう、synchronizedは使用しない）
+ */
+@Component
+public class CourseCatalog {
+
+  private final StudentRepository repository;
+  private final long minRefreshIntervalNanos;
+  private volatile Map<Integer, Course> courses = Map.of();
+  // 読み込み直しと登録の反映は1つずつ行う（lockで保護する）
+  private final ReentrantLock lock = new ReentrantLock();
+  // 前回読み込んだ時刻（System.nanoTime、未読み込みの場合はnull、lockで保護する）
+  private Long lastRefreshNanos;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder refreshCount = new LongAdder();
+
+  @Autowired
+  public CourseCatalog(StudentRepository repository,
+      @Value("${student.course-catalog.min-refresh-interval:1s}") Duration minRefreshInterval) {
+    this.repository = repository;
+    this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+  }
+
+  /**
+   * コース情報を全件読み込み直す
+   * 起動時に呼び出される
+   * 登録の反映（put）と同時に行われても登録したコースが失われないよう、検索から差し替えまでをまとめて排他する
+   */
+  @PostConstruct
+  public void refresh() {
+    lock.lock();
+    try {
+      Map<Integer, Course> loaded = new HashMap<>();
+      for (Course course : repository.searchCourses()) {
+        loaded.put(course.getId(), course);
+      }
+      courses = Map.copyOf(loaded);
+      lastRefreshNanos = System.nanoTime();
+      refreshCount.increment();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * コースIDを指定してコース情報を検索
+   * キャッシュに存在しない場合は、他で登録されたコースを取り込むために全件読み込み直す
+   * ただし前回の読み込みから一定時間が経過していない場合は読み込み直さずに空を返却する
+   * @param id コースID
+   * @return コース情報
+   */
+  public Optional<Course> findById(int id) {
+    Course course = courses.get(id);
+    if (course != null) {
+      hitCount.increment();
+      return Optional.of(course);
+    }
+    missCount.increment();
+    refreshIfStale();
+    return Optional.ofNullable(courses.get(id));
+  }
+
+  /**
+   * 現在のトランザクションのコミット後に、登録したコース情報をキャッシュに反映する
+   * ロールバックされた場合は反映しない。トランザクション外で呼び出された場合はすぐに反映する
+   * @param course 登録済み（IDが採番済み）のコース情報
+   */
+  public void putAfterCommit(Course course) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      put(course);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        put(course);
+      }
+    });
+  }
+
+  /**
+   * キャッシュに存在した検索の回数
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * キャッシュに存在しなかった検索の回数
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * 全件読み込み直した回数
+   */
+  public long getRefreshCount() {
+    return refreshCount.sum();
+  }
+
+  private void put(Course course) {
+    lock.lock();
+    try {
+      Map<Integer, Course> updated = new HashMap<>(courses);
+      updated.put(course.getId(), course);
+      courses = Map.copyOf(updated);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 前回の読み込みから一定時間が経過している場合のみ全件読み込み直す
+   * 同時に呼び出された場合は1つだけが読み込み、他は読み込みを待ったうえで読み込み直さない
+   */
+  private void refreshIfStale() {
+    lock.lock();
+    try {
+      if (lastRefreshNanos == null || System.nanoTime() - lastRefreshNanos >= minRefreshIntervalNanos) {
+        refresh();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package raisetech.student.management.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 受講生情報の版数（データが更新されるたびに1つ増える番号）を保持するクラス
+ * 検索結果のETagに使用し、版数が変わっていなければ検索せずに304（Not Modified）を返却できるようにする
+ *
+ * 版数は更新のコミット後に増やす（コミット前に増やすと、新しい版数で古いデータを返却してしまうことがあるため）
+ * 検索側は検索前に版数を読み取ってETagとすること
+ * 版数はアプリケーションごとに保持するため、ETagには起動ごとに異なる値を含め、再起動後に同じETagにならないようにする
+ */
+@Component
+public class DataVersion {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * 現在の版数
+   */
+  public long current() {
+    return version.get();
+  }
+
+  /**
+   * 現在の版数に対応するETag（弱いETag）
+   */
+  public String etag() {
+    return etag(version.get());
+  }
+
+  /**
+   * 指定した版数に対応するETag（弱いETag）
+   * @param version 版数（一覧検索の読み取りモデルに反映済みの版数など）
+   */
+  public String etag(long version) {
+    return "W/\"" + epoch + "-" + version + "\"";
+  }
+
+  /**
+   * 現在のトランザクションのコミット後に版数を増やす
+   * ロールバックされた場合は増やさない。トランザクション外で呼び出された場合はすぐに増やす
+   */
+  public void incrementAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      version.incrementAndGet();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        version.incrementAndGet();
+      }
+    });
+  }
+}
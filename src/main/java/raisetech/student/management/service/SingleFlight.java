@@ -0,0 +1,83 @@
+package raisetech.student.management.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 同じキーの処理が同時に呼び出された場合に、最初の呼び出しの処理結果を後続の呼び出しで共有するクラス
+ *
+ * 処理中の呼び出しがない場合は呼び出し元のスレッドで処理し、処理中の呼び出しがある場合はその完了を待って同じ結果を返す
+ * 処理が完了した時点で共有をやめるため、結果は保持しない（完了後の呼び出しは改めて処理する）
+ * 処理が失敗した場合は待っていたすべての呼び出し元に同じ例外を送出し、失敗した結果も保持しない
+ * 共有した結果は複数の呼び出し元に同じインスタンスとして返されるため、呼び出し元で変更しないこと
+ *
+ * メトリクス: student.service.single.flight.coalesced（他の呼び出しの結果を共有した回数）
+ */
+@Component
+public class SingleFlight implements MeterBinder {
+
+  private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong coalescedCount = new AtomicLong();
+
+  /**
+   * 同じキーの処理中の呼び出しがあればその結果を待って返し、なければ処理を実行して返す
+   * @param key 処理を識別するキー（equalsとhashCodeで比較する）
+   * @param computation 処理
+   * @return 処理結果
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(Object key, Supplier<T> computation) {
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+    if (existing != null) {
+      coalescedCount.incrementAndGet();
+      return (T) await(existing);
+    }
+    try {
+      T result = computation.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /**
+   * 他の呼び出しの結果を共有した回数
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("student.service.single.flight.coalesced", coalescedCount, AtomicLong::get)
+        .description("処理中の同じ検索の結果を共有した回数")
+        .register(registry);
+  }
+
+  private static Object await(CompletableFuture<Object> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package raisetech.student.management.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.StudentBulkRegistrationResult;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailForJson;
+import raisetech.student.management.domain.StudentRegistrationError;
+import raisetech.student.management.repository.StudentBatchWriter;
+
+/**
+ * 受講生情報の一括登録を行うサービス
+ *
+ * 受講生ごとに入力チェックを行い、問題のない受講生を一定件数（チャンク）ごとにまとめて登録する
+ * チャンクごとにトランザクションをコミットするため、途中のチャンクで登録に失敗しても登録済みのチャンクは取り消されない
+ */
+@Service
+public class StudentBulkRegistrationService {
+
+  private StudentBatchWriter batchWriter;
+  private CourseCatalog courseCatalog;
+  private Validator validator;
+  private TransactionTemplate transactionTemplate;
+  private int chunkSize;
+  private DataVersion dataVersion;
+  private StudentReadModel readModel;
+
+  @Autowired
+  public StudentBulkRegistrationService(StudentBatchWriter batchWriter, CourseCatalog courseCatalog,
+      Validator validator, PlatformTransactionManager transactionManager,
+      @Value("${student.bulk-registration.chunk-size:500}") int chunkSize, DataVersion dataVersion,
+      StudentReadModel readModel) {
+    this.batchWriter = batchWriter;
+    this.courseCatalog = courseCatalog;
+    this.validator = validator;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.dataVersion = dataVersion;
+    this.readModel = readModel;
+  }
+
+  /**
+   * 受講生情報を一括登録
+   * 各受講生の初期コース情報と申し込み状況（仮申し込み）も同時に登録する
+   * @param studentDetailsForJson 受講生登録情報一覧（受講生情報＋初期コースid）
+   * @return 登録した受講生詳細情報一覧と、登録できなかった受講生のエラー内容
+   */
+  public StudentBulkRegistrationResult registerStudents(List<StudentDetailForJson> studentDetailsForJson) {
+    List<StudentDetail> registered = new ArrayList<>();
+    List<StudentRegistrationError> errors = new ArrayList<>();
+    // 存在しないコースIDでキャッシュの読み込み直しを繰り返さないように記録する
+    Set<Integer> unknownCourseIds = new HashSet<>();
+
+    List<StudentDetail> chunk = new ArrayList<>(chunkSize);
+    List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+    for (int i = 0; i < studentDetailsForJson.size(); i++) {
+      StudentDetailForJson studentDetailForJson = studentDetailsForJson.get(i);
+      Map<String, String> messages = validate(studentDetailForJson, unknownCourseIds);
+      if (!messages.isEmpty()) {
+        errors.add(new StudentRegistrationError(i, messages));
+        continue;
+      }
+      Student student = new Student(studentDetailForJson);
+      StudentCourse studentCourse = StudentCourse.initStudentCourse(0, studentDetailForJson.getCourseId()); // この時点でidは不明なので0
+      chunk.add(new StudentDetail(student, List.of(studentCourse)));
+      chunkIndexes.add(i);
+      if (chunk.size() == chunkSize) {
+        registerChunk(chunk, chunkIndexes, registered, errors);
+        chunk = new ArrayList<>(chunkSize);
+        chunkIndexes = new ArrayList<>(chunkSize);
+      }
+    }
+    if (!chunk.isEmpty()) {
+      registerChunk(chunk, chunkIndexes, registered, errors);
+    }
+
+    errors.sort(Comparator.comparingInt(StudentRegistrationError::getIndex));
+    return new StudentBulkRegistrationResult(registered, errors);
+  }
+
+  private Map<String, String> validate(StudentDetailForJson studentDetailForJson, Set<Integer> unknownCourseIds) {
+    Map<String, String> messages = new LinkedHashMap<>();
+    for (ConstraintViolation<StudentDetailForJson> violation : validator.validate(studentDetailForJson)) {
+      messages.put(violation.getPropertyPath().toString(), violation.getMessage());
+    }
+    int courseId = studentDetailForJson.getCourseId();
+    if (!messages.containsKey("courseId")
+        && (unknownCourseIds.contains(courseId) || courseCatalog.findById(courseId).isEmpty())) {
+      unknownCourseIds.add(courseId);
+      messages.put("courseId", "指定されたIDのコースは存在しません");
+    }
+    return messages;
+  }
+
+  private void registerChunk(List<StudentDetail> chunk, List<Integer> chunkIndexes,
+      List<StudentDetail> registered, List<StudentRegistrationError> errors) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        batchWriter.insertStudentDetails(chunk);
+        readModel.markStudentsChangedAfterCommit(
+            chunk.stream().map(studentDetail -> studentDetail.getStudent().getId()).toList());
+        dataVersion.incrementAfterCommit();
+      });
+    } catch (DataAccessException e) {
+      // このチャンクはロールバックされるため、含まれる受講生は全て登録失敗として返却する
+      for (int index : chunkIndexes) {
+        errors.add(new StudentRegistrationError(index, Map.of("error", "登録に失敗しました")));
+      }
+      return;
+    }
+    for (StudentDetail studentDetail : chunk) {
+      for (StudentCourse studentCourse : studentDetail.getStudentCourses()) {
+        Optional<Course> course = courseCatalog.findById(studentCourse.getCourseId());
+        studentCourse.setCourseName(course.map(Course::getName).orElse(null));
+      }
+    }
+    registered.addAll(chunk);
+  }
+}
@@ -0,0 +1,297 @@
+package raisetech.student.management.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * 受講生IDごとに受講生詳細情報を保持するキャッシュ
+ *
+ * 受講生情報、受講生のコース情報、申し込み状況が更新された場合は、その受講生の分だけをコミット後に削除する
+ * 申し込み状況の更新は受講生コースIDで指定されるため、保持している受講生詳細情報から受講生コースIDと受講生IDの対応を引いて削除する
+ * 検索中に削除が行われた場合は、検索結果が古い可能性があるため保持しない
+ * 更新中のトランザクション内の検索は、コミット前のデータを保持したり古いデータを返却したりしないようキャッシュを使用しない
+ * 保持したものは次の更新まで返却され続けるため、検索処理はレプリカではなくプライマリで検索すること（呼び出し元で読み取り専用トランザクションを開始しない）
+ * 保持する合計サイズ（推定値）には上限があり、超えた場合は最も長く使用されていないものから削除する
+ * 返却した受講生詳細情報は複数の呼び出し元で共有されるため、呼び出し元で変更しないこと
+ *
+ * メトリクス: student.detail.cache.requests（result=hit/miss）、student.detail.cache.hit.ratio、
+ * student.detail.cache.evictions（cause=size/invalidation）、student.detail.cache.size（推定バイト数）、
+ * student.detail.cache.entries
+ */
+@Component
+public class StudentDetailCache implements MeterBinder {
+
+  // オブジェクトのヘッダーや参照、日付などの文字列以外の部分の推定サイズ
+  private static final long STUDENT_DETAIL_OVERHEAD_BYTES = 160;
+  private static final long STUDENT_COURSE_OVERHEAD_BYTES = 120;
+  private static final long STRING_OVERHEAD_BYTES = 40;
+
+  private final long maxBytes;
+
+  // アクセス順（最も長く使用されていないものが先頭）
+  private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  // 保持している受講生詳細情報に含まれる受講生コースIDと受講生IDの対応
+  private final Map<Integer, Integer> studentIdsByStudentCourseId = new HashMap<>();
+  private long totalBytes;
+  // 削除のたびに増える番号（検索中に削除が行われたかどうかの判定に使用する）
+  private long invalidationCount;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong sizeEvictionCount = new AtomicLong();
+  private final AtomicLong invalidationEvictionCount = new AtomicLong();
+
+  @Autowired
+  public StudentDetailCache(@Value("${student.detail-cache.max-size:16MB}") DataSize maxSize) {
+    this.maxBytes = maxSize.toBytes();
+  }
+
+  /**
+   * 保持している受講生詳細情報を返却し、ない場合は検索して保持したうえで返却する
+   * 存在しない受講生の検索結果は保持しない
+   * @param studentId 受講生ID
+   * @param loader 受講生IDを指定して受講生詳細情報を検索する処理
+   * @return 受講生詳細情報
+   */
+  public Optional<StudentDetail> getOrLoad(int studentId, IntFunction<Optional<StudentDetail>> loader) {
+    if (isInWriteTransaction()) {
+      return loader.apply(studentId);
+    }
+    long invalidationCountBeforeLoad;
+    synchronized (this) {
+      Entry entry = entries.get(studentId);
+      if (entry != null) {
+        hitCount.incrementAndGet();
+        return Optional.of(entry.studentDetail);
+      }
+      invalidationCountBeforeLoad = invalidationCount;
+    }
+    missCount.incrementAndGet();
+    Optional<StudentDetail> loaded = loader.apply(studentId);
+    loaded.ifPresent(studentDetail -> put(studentId, studentDetail, invalidationCountBeforeLoad));
+    return loaded;
+  }
+
+  /**
+   * 現在のトランザクションのコミット後に、指定した受講生の受講生詳細情報を削除する
+   * トランザクション外で呼び出された場合はすぐに削除する
+   * @param studentId 受講生ID
+   */
+  public void invalidateStudentAfterCommit(int studentId) {
+    afterCommit(() -> invalidateStudents(List.of(studentId)));
+  }
+
+  /**
+   * 現在のトランザクションのコミット後に、指定した受講生コースを含む受講生詳細情報を削除する
+   * トランザクション外で呼び出された場合はすぐに削除する
+   * @param studentCourseIds 受講生コースID一覧
+   */
+  public void invalidateStudentCoursesAfterCommit(Collection<Integer> studentCourseIds) {
+    List<Integer> ids = List.copyOf(studentCourseIds);
+    afterCommit(() -> invalidateStudentCourses(ids));
+  }
+
+  /**
+   * 保持している受講生詳細情報をすべて削除する
+   */
+  public synchronized void clear() {
+    invalidationCount++;
+    entries.clear();
+    studentIdsByStudentCourseId.clear();
+    totalBytes = 0;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("student.detail.cache.requests", hitCount, AtomicLong::get)
+        .description("受講生詳細情報のキャッシュの参照回数")
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("student.detail.cache.requests", missCount, AtomicLong::get)
+        .description("受講生詳細情報のキャッシュの参照回数")
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder("student.detail.cache.evictions", sizeEvictionCount, AtomicLong::get)
+        .description("受講生詳細情報のキャッシュから削除した件数")
+        .tag("cause", "size")
+        .register(registry);
+    FunctionCounter.builder("student.detail.cache.evictions", invalidationEvictionCount, AtomicLong::get)
+        .description("受講生詳細情報のキャッシュから削除した件数")
+        .tag("cause", "invalidation")
+        .register(registry);
+    Gauge.builder("student.detail.cache.hit.ratio", this, StudentDetailCache::hitRatio)
+        .description("受講生詳細情報のキャッシュのヒット率")
+        .register(registry);
+    Gauge.builder("student.detail.cache.size", this, StudentDetailCache::totalBytes)
+        .description("受講生詳細情報のキャッシュが保持しているバイト数（推定値）")
+        .baseUnit("bytes")
+        .register(registry);
+    Gauge.builder("student.detail.cache.entries", this, StudentDetailCache::entryCount)
+        .description("受講生詳細情報のキャッシュが保持している件数")
+        .register(registry);
+  }
+
+  double hitRatio() {
+    long hits = hitCount.get();
+    long total = hits + missCount.get();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  long sizeEvictionCount() {
+    return sizeEvictionCount.get();
+  }
+
+  long invalidationEvictionCount() {
+    return invalidationEvictionCount.get();
+  }
+
+  synchronized long totalBytes() {
+    return totalBytes;
+  }
+
+  synchronized int entryCount() {
+    return entries.size();
+  }
+
+  /**
+   * 受講生詳細情報の推定サイズ（バイト数）
+   * 文字列は1文字2バイトとして、オブジェクトのヘッダーや参照の分を加えて推定する
+   */
+  static long estimateSize(StudentDetail studentDetail) {
+    long size = STUDENT_DETAIL_OVERHEAD_BYTES;
+    Student student = studentDetail.getStudent();
+    if (student != null) {
+      size += sizeOf(student.getName()) + sizeOf(student.getKanaName()) + sizeOf(student.getNickname())
+          + sizeOf(student.getEmail()) + sizeOf(student.getLivingArea()) + sizeOf(student.getGender())
+          + sizeOf(student.getRemark());
+    }
+    if (studentDetail.getStudentCourses() != null) {
+      for (StudentCourse studentCourse : studentDetail.getStudentCourses()) {
+        size += STUDENT_COURSE_OVERHEAD_BYTES + sizeOf(studentCourse.getCourseName());
+      }
+    }
+    return size;
+  }
+
+  private static long sizeOf(String value) {
+    return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+  }
+
+  /**
+   * 更新中のトランザクション内かどうか（読み取り専用トランザクションやトランザクション外の場合はfalse）
+   */
+  private static boolean isInWriteTransaction() {
+    return TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+  }
+
+  /**
+   * 削除する処理は、データの版数を増やす処理（DataVersion）より先に実行する
+   * （新しい版数のETagで削除前の受講生詳細情報を返却しないようにするため）
+   */
+  private static void afterCommit(Runnable invalidation) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidation.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+      }
+
+      @Override
+      public void afterCommit() {
+        invalidation.run();
+      }
+    });
+  }
+
+  private synchronized void put(int studentId, StudentDetail studentDetail, long invalidationCountBeforeLoad) {
+    // 検索中に削除が行われた場合は、検索結果が削除前のデータの可能性があるため保持しない
+    if (invalidationCount != invalidationCountBeforeLoad) {
+      return;
+    }
+    long size = estimateSize(studentDetail);
+    if (size > maxBytes) {
+      return;
+    }
+    remove(studentId);
+    entries.put(studentId, new Entry(studentDetail, size));
+    if (studentDetail.getStudentCourses() != null) {
+      for (StudentCourse studentCourse : studentDetail.getStudentCourses()) {
+        studentIdsByStudentCourseId.put(studentCourse.getId(), studentId);
+      }
+    }
+    totalBytes += size;
+    // 上限を超えた場合は最も長く使用されていないものから削除する
+    while (totalBytes > maxBytes && !entries.isEmpty()) {
+      Iterator<Integer> eldest = entries.keySet().iterator();
+      remove(eldest.next());
+      sizeEvictionCount.incrementAndGet();
+    }
+  }
+
+  private synchronized void invalidateStudents(Collection<Integer> studentIds) {
+    invalidationCount++;
+    for (int studentId : studentIds) {
+      if (remove(studentId)) {
+        invalidationEvictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  private synchronized void invalidateStudentCourses(Collection<Integer> studentCourseIds) {
+    invalidationCount++;
+    for (int studentCourseId : studentCourseIds) {
+      Integer studentId = studentIdsByStudentCourseId.get(studentCourseId);
+      if (studentId != null && remove(studentId)) {
+        invalidationEvictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  private boolean remove(int studentId) {
+    Entry entry = entries.remove(studentId);
+    if (entry == null) {
+      return false;
+    }
+    totalBytes -= entry.size;
+    if (entry.studentDetail.getStudentCourses() != null) {
+      for (StudentCourse studentCourse : entry.studentDetail.getStudentCourses()) {
+        studentIdsByStudentCourseId.remove(studentCourse.getId());
+      }
+    }
+    return true;
+  }
+
+  private static final class Entry {
+    private final StudentDetail studentDetail;
+    private final long size;
+
+    private Entry(StudentDetail studentDetail, long size) {
+      this.studentDetail = studentDetail;
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,519 @@
+package raisetech.student.management.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 一覧検索用の読み取りモデル（論理削除されていない全受講生の受講生詳細情報を、コース情報と申し込み状況を含めて保持する）
+ *
+ * 起動時に全件読み込み、以降は更新のコミット後に変更された受講生を記録し、一定間隔でその受講生の分だけをまとめて検索し直して反映する
+ * 反映のたびに新しいスナップショット（変更しない受講生詳細情報の一覧）に置き換えるため、検索はロックを取得せずに現在のスナップショットから返却する
+ * スナップショットは受講生IDの範囲ごとの区間に分けて保持し、反映時は変更された受講生を含む区間のみを作り直す（全件は複製しない）
+ * 申し込み状況の変更（受講生コースID）は、反映時に受講生コースIDから受講生IDを検索して対応付ける
+ * 一度に反映する受講生が多い場合（一括登録など）は、個別に検索せずに全件読み込み直す
+ *
+ * スナップショットには反映済みのデータの版数（DataVersion）を持たせ、一覧のETagやレスポンスのキャッシュにはこの版数を使用する
+ * （版数は変更の記録後に増えるため、反映時に読み取った版数までの変更はすべて反映済みとなる）
+ * 未反映の変更のうち最も古いものからの経過時間（遅延）が上限を超えている場合は、検索時に反映を待ってから返却する
+ * 反映は常に反映用のスレッドでトランザクション外で実行する（呼び出し元の読み取り専用トランザクションでレプリカから読み込まないため）
+ * 返却した受講生詳細情報は複数の呼び出し元で共有されるため、呼び出し元で変更しないこと
+ *
+ * メトリクス: student.read.model.staleness（遅延、秒）、student.read.model.pending（未反映の変更件数）、
+ * student.read.model.students（保持している受講生数）、student.read.model.refreshes（type=incremental/full/forced）
+ */
+@Slf4j
+@Component
+public class StudentReadModel implements MeterBinder, DisposableBean {
+
+  private final StudentRepository repository;
+  private final DataVersion dataVersion;
+  private final boolean enabled;
+  private final Duration refreshInterval;
+  private final Duration maxStaleness;
+  private final int maxIncrementalSize;
+  private final ScheduledExecutorService scheduler;
+
+  // スナップショットを区間に分ける単位（受講生IDの範囲）
+  private static final int SEGMENT_SIZE = 1024;
+
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  // 未反映の変更（pendingLockで保護する）
+  private final Object pendingLock = new Object();
+  private Set<Integer> pendingStudentIds = new HashSet<>();
+  private Set<Integer> pendingStudentCourseIds = new HashSet<>();
+  private long pendingSinceNanos;
+  // 未反映（反映中を含む）の変更のうち最も古いものを記録した時刻（未反映の変更がない場合はnull）
+  private volatile Long unappliedSinceNanos;
+
+  // 反映は1つずつ行う（refreshLockで保護する）
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private boolean loaded;
+
+  private final AtomicLong incrementalRefreshCount = new AtomicLong();
+  private final AtomicLong fullRefreshCount = new AtomicLong();
+  private final AtomicLong forcedRefreshCount = new AtomicLong();
+
+  @Autowired
+  public StudentReadModel(StudentRepository repository, DataVersion dataVersion,
+      @Value("${student.read-model.enabled:true}") boolean enabled,
+      @Value("${student.read-model.refresh-interval:500ms}") Duration refreshInterval,
+      @Value("${student.read-model.max-staleness:5s}") Duration maxStaleness,
+      @Value("${student.read-model.max-incremental-size:1000}") int maxIncrementalSize) {
+    this.repository = repository;
+    this.dataVersion = dataVersion;
+    this.enabled = enabled;
+    this.refreshInterval = refreshInterval;
+    this.maxStaleness = maxStaleness;
+    this.maxIncrementalSize = maxIncrementalSize;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "student-read-model");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * 全件読み込み、定期的な反映を開始する（無効の場合は何もしない）
+   * 起動時に呼び出される
+   */
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    refresh();
+    scheduler.scheduleWithFixedDelay(this::refreshQuietly,
+        refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 読み取りモデルが有効かどうか（無効の場合、一覧検索はデータベースで行う）
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 返却するスナップショットに反映済みのデータの版数
+   */
+  public long version() {
+    return currentSnapshot().version;
+  }
+
+  /**
+   * 論理削除されていない全受講生の受講生詳細情報（受講生IDの昇順）
+   */
+  public List<StudentDetail> studentDetails() {
+    return currentSnapshot().studentDetails;
+  }
+
+  /**
+   * 指定した申し込み状況のいずれかに該当するコースを含む受講生詳細情報（受講生IDの昇順、該当するコースのみを含む）
+   * @param statuses 申し込み状況
+   */
+  public List<StudentDetail> studentDetailsByStatuses(Set<StudentCourseStatusType> statuses) {
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    for (StudentDetail studentDetail : currentSnapshot().studentDetails) {
+      List<StudentCourse> studentCourses = new ArrayList<>();
+      for (StudentCourse studentCourse : studentDetail.getStudentCourses()) {
+        if (studentCourse.getStatus() != null && statuses.contains(studentCourse.getStatus())) {
+          studentCourses.add(studentCourse);
+        }
+      }
+      if (!studentCourses.isEmpty()) {
+        studentDetails.add(new StudentDetail(studentDetail.getStudent(), studentCourses));
+      }
+    }
+    return studentDetails;
+  }
+
+  /**
+   * 現在のトランザクションのコミット後に、指定した受講生を変更されたものとして記録する
+   * トランザクション外で呼び出された場合はすぐに記録する
+   * @param studentIds 受講生ID一覧
+   */
+  public void markStudentsChangedAfterCommit(Collection<Integer> studentIds) {
+    List<Integer> ids = List.copyOf(studentIds);
+    afterCommit(() -> markChanged(ids, List.of()));
+  }
+
+  /**
+   * 現在のトランザクションのコミット後に、指定した受講生コースを変更されたものとして記録する
+   * トランザクション外で呼び出された場合はすぐに記録する
+   * @param studentCourseIds 受講生コースID一覧
+   */
+  public void markStudentCoursesChangedAfterCommit(Collection<Integer> studentCourseIds) {
+    List<Integer> ids = List.copyOf(studentCourseIds);
+    afterCommit(() -> markChanged(List.of(), ids));
+  }
+
+  /**
+   * 未反映の変更を反映する
+   * 反映中に失敗した場合は、変更を未反映に戻して例外を送出する
+   */
+  public void refresh() {
+    refreshLock.lock();
+    try {
+      // 変更を取り出す前に版数を読み取る（変更は版数が増える前に記録されるため、この版数までの変更は取り出した中に含まれる）
+      long version = dataVersion.current();
+      Set<Integer> studentIds;
+      Set<Integer> studentCourseIds;
+      synchronized (pendingLock) {
+        studentIds = pendingStudentIds;
+        studentCourseIds = pendingStudentCourseIds;
+        pendingStudentIds = new HashSet<>();
+        pendingStudentCourseIds = new HashSet<>();
+      }
+      try {
+        apply(version, studentIds, studentCourseIds);
+      } catch (RuntimeException e) {
+        synchronized (pendingLock) {
+          // 取り出した変更は未反映の変更のうち最も古いものを含むため、記録した時刻もその時刻に戻す
+          if (unappliedSinceNanos != null) {
+            pendingSinceNanos = unappliedSinceNanos;
+          }
+          pendingStudentIds.addAll(studentIds);
+          pendingStudentCourseIds.addAll(studentCourseIds);
+        }
+        throw e;
+      }
+      synchronized (pendingLock) {
+        boolean pending = !pendingStudentIds.isEmpty() || !pendingStudentCourseIds.isEmpty();
+        unappliedSinceNanos = pending ? pendingSinceNanos : null;
+      }
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * 未反映の変更のうち最も古いものからの経過時間（未反映の変更がない場合は0）
+   */
+  public Duration staleness() {
+    Long since = unappliedSinceNanos;
+    return since == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - since);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("student.read.model.staleness", this, readModel -> readModel.staleness().toNanos() / 1e9)
+        .description("一覧検索用の読み取りモデルの未反映の変更のうち最も古いものからの経過時間")
+        .baseUnit("seconds")
+        .register(registry);
+    Gauge.builder("student.read.model.pending", this, StudentReadModel::pendingCount)
+        .description("一覧検索用の読み取りモデルの未反映の変更件数")
+        .register(registry);
+    Gauge.builder("student.read.model.students", this, readModel -> readModel.snapshot.studentDetails.size())
+        .description("一覧検索用の読み取りモデルが保持している受講生数")
+        .register(registry);
+    FunctionCounter.builder("student.read.model.refreshes", incrementalRefreshCount, AtomicLong::get)
+        .description("一覧検索用の読み取りモデルに変更を反映した回数")
+        .tag("type", "incremental")
+        .register(registry);
+    FunctionCounter.builder("student.read.model.refreshes", fullRefreshCount, AtomicLong::get)
+        .description("一覧検索用の読み取りモデルに変更を反映した回数")
+        .tag("type", "full")
+        .register(registry);
+    FunctionCounter.builder("student.read.model.refreshes", forcedRefreshCount, AtomicLong::get)
+        .description("一覧検索用の読み取りモデルに変更を反映した回数")
+        .tag("type", "forced")
+        .register(registry);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+
+  long incrementalRefreshCount() {
+    return incrementalRefreshCount.get();
+  }
+
+  long fullRefreshCount() {
+    return fullRefreshCount.get();
+  }
+
+  long forcedRefreshCount() {
+    return forcedRefreshCount.get();
+  }
+
+  int pendingCount() {
+    synchronized (pendingLock) {
+      return pendingStudentIds.size() + pendingStudentCourseIds.size();
+    }
+  }
+
+  /**
+   * 現在のスナップショット（遅延が上限を超えている場合は反映を待ってから返却する）
+   * 反映は呼び出し元のスレッドではなく反映用のスレッドで実行する（呼び出し元のトランザクションに参加させないため）
+   */
+  private Snapshot currentSnapshot() {
+    if (staleness().compareTo(maxStaleness) > 0) {
+      forcedRefreshCount.incrementAndGet();
+      log.warn("一覧検索用の読み取りモデルの遅延が上限を超えたため、検索時に反映します（遅延: {}ms、上限: {}ms）",
+          staleness().toMillis(), maxStaleness.toMillis());
+      try {
+        scheduler.submit(this::refresh).get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw new IllegalStateException(e.getCause());
+      } catch (InterruptedException e) {
+        // 待機を中断された場合は反映済みのスナップショットを返却する（反映は反映用のスレッドで継続される）
+        Thread.currentThread().interrupt();
+      }
+    }
+    return snapshot;
+  }
+
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      log.warn("一覧検索用の読み取りモデルへの変更の反映に失敗しました（次回に再度反映します）", e);
+    }
+  }
+
+  private void markChanged(Collection<Integer> studentIds, Collection<Integer> studentCourseIds) {
+    synchronized (pendingLock) {
+      if (pendingStudentIds.isEmpty() && pendingStudentCourseIds.isEmpty()) {
+        pendingSinceNanos = System.nanoTime();
+        if (unappliedSinceNanos == null) {
+          unappliedSinceNanos = pendingSinceNanos;
+        }
+      }
+      pendingStudentIds.addAll(studentIds);
+      pendingStudentCourseIds.addAll(studentCourseIds);
+    }
+  }
+
+  private void apply(long version, Set<Integer> studentIds, Set<Integer> studentCourseIds) {
+    Snapshot current = snapshot;
+    // 受講生コースIDは検索して受講生IDに対応付けるため、対応付ける前の件数が上限を超える場合も全件読み込み直す
+    if (!loaded || studentIds.size() + studentCourseIds.size() > maxIncrementalSize) {
+      snapshot = Snapshot.of(version, repository.searchStudentDetails());
+      loaded = true;
+      fullRefreshCount.incrementAndGet();
+      return;
+    }
+
+    Set<Integer> changedStudentIds = new TreeSet<>(studentIds);
+    if (!studentCourseIds.isEmpty()) {
+      changedStudentIds.addAll(repository.searchStudentIdsByStudentCourseIds(List.copyOf(studentCourseIds)));
+    }
+    if (changedStudentIds.isEmpty()) {
+      if (version > current.version) {
+        snapshot = current.withVersion(version);
+      }
+      return;
+    }
+
+    // 変更された受講生はまとめて1回で検索し、その受講生を含む区間のみを作り直す
+    // （途中で失敗した場合は現在のスナップショットがそのまま残る）
+    List<StudentDetail> studentDetails = repository.searchStudentDetailsByIds(List.copyOf(changedStudentIds));
+    snapshot = current.apply(version, changedStudentIds, studentDetails);
+    incrementalRefreshCount.incrementAndGet();
+  }
+
+  /**
+   * 変更を記録する処理は、データの版数を増やす処理（DataVersion）より先に実行する
+   */
+  private static void afterCommit(Runnable mark) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      mark.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+      }
+
+      @Override
+      public void afterCommit() {
+        mark.run();
+      }
+    });
+  }
+
+  /**
+   * 読み取りモデルのスナップショット（作成後は変更しない）
+   * 受講生詳細情報は受講生IDの範囲（SEGMENT_SIZE件ごと）で区間に分けて保持し、
+   * 変更を反映する際は変更された受講生を含む区間のみを作り直して、他の区間は前のスナップショットと共有する
+   */
+  private static final class Snapshot {
+    private static final Snapshot EMPTY = new Snapshot(0, new TreeMap<>());
+
+    private final long version;
+    // 区間の番号（受講生ID / SEGMENT_SIZE）ごとの受講生詳細情報（区間内は受講生IDの昇順、空の区間は持たない）
+    private final SortedMap<Integer, List<StudentDetail>> segments;
+    // 全区間をつなげた受講生詳細情報の一覧（受講生IDの昇順）
+    private final List<StudentDetail> studentDetails;
+
+    private Snapshot(long version, TreeMap<Integer, List<StudentDetail>> segments) {
+      this(version, Collections.unmodifiableSortedMap(segments), new SegmentedList(segments.values()));
+    }
+
+    private Snapshot(long version, SortedMap<Integer, List<StudentDetail>> segments,
+        List<StudentDetail> studentDetails) {
+      this.version = version;
+      this.segments = segments;
+      this.studentDetails = studentDetails;
+    }
+
+    /**
+     * 全件の検索結果からスナップショットを作成する
+     * @param studentDetails 論理削除されていない全受講生の受講生詳細情報
+     */
+    private static Snapshot of(long version, List<StudentDetail> studentDetails) {
+      TreeMap<Integer, List<StudentDetail>> segments = new TreeMap<>();
+      for (Map.Entry<Integer, List<StudentDetail>> entry : groupBySegment(studentDetails).entrySet()) {
+        segments.put(entry.getKey(), sorted(entry.getValue()));
+      }
+      return new Snapshot(version, segments);
+    }
+
+    /**
+     * 変更された受講生を反映したスナップショットを作成する（変更された受講生を含まない区間はそのまま共有する）
+     * @param changedStudentIds 変更された受講生ID
+     * @param studentDetails 変更された受講生の検索結果（存在しない受講生は含まない、論理削除されている受講生を含む）
+     */
+    private Snapshot apply(long version, Set<Integer> changedStudentIds, List<StudentDetail> studentDetails) {
+      Map<Integer, List<StudentDetail>> loadedBySegment = groupBySegment(studentDetails);
+      Set<Integer> changedSegments = new HashSet<>();
+      for (int studentId : changedStudentIds) {
+        changedSegments.add(segmentOf(studentId));
+      }
+
+      TreeMap<Integer, List<StudentDetail>> updated = new TreeMap<>(segments);
+      for (int segment : changedSegments) {
+        List<StudentDetail> rebuilt = new ArrayList<>();
+        for (StudentDetail studentDetail : segments.getOrDefault(segment, List.of())) {
+          if (!changedStudentIds.contains(studentDetail.getStudent().getId())) {
+            rebuilt.add(studentDetail);
+          }
+        }
+        rebuilt.addAll(loadedBySegment.getOrDefault(segment, List.of()));
+        if (rebuilt.isEmpty()) {
+          updated.remove(segment);
+        } else {
+          updated.put(segment, sorted(rebuilt));
+        }
+      }
+      return new Snapshot(version, updated);
+    }
+
+    private Snapshot withVersion(long version) {
+      return new Snapshot(version, segments, studentDetails);
+    }
+
+    /**
+     * 受講生詳細情報を区間ごとに分ける（論理削除されている受講生は除外し、コース情報は変更できない一覧に複製する）
+     */
+    private static Map<Integer, List<StudentDetail>> groupBySegment(List<StudentDetail> studentDetails) {
+      Map<Integer, List<StudentDetail>> bySegment = new HashMap<>();
+      for (StudentDetail studentDetail : studentDetails) {
+        if (studentDetail.getStudent().isDeleted()) {
+          continue;
+        }
+        List<StudentCourse> studentCourses = studentDetail.getStudentCourses() != null
+            ? List.copyOf(studentDetail.getStudentCourses()) : List.of();
+        bySegment.computeIfAbsent(segmentOf(studentDetail.getStudent().getId()), segment -> new ArrayList<>())
+            .add(new StudentDetail(studentDetail.getStudent(), studentCourses));
+      }
+      return bySegment;
+    }
+
+    private static List<StudentDetail> sorted(List<StudentDetail> studentDetails) {
+      studentDetails.sort(Comparator.comparingInt(studentDetail -> studentDetail.getStudent().getId()));
+      return List.copyOf(studentDetails);
+    }
+
+    private static int segmentOf(int studentId) {
+      return Math.floorDiv(studentId, SEGMENT_SIZE);
+    }
+  }
+
+  /**
+   * 区間ごとの一覧をつなげた変更できない一覧（区間の一覧は複製せずに参照する）
+   */
+  private static final class SegmentedList extends AbstractList<StudentDetail> implements RandomAccess {
+    private final List<List<StudentDetail>> segments;
+    // 各区間の先頭の位置
+    private final int[] offsets;
+    private final int size;
+
+    private SegmentedList(Collection<List<StudentDetail>> segments) {
+      this.segments = List.copyOf(segments);
+      this.offsets = new int[this.segments.size()];
+      int size = 0;
+      for (int i = 0; i < offsets.length; i++) {
+        offsets[i] = size;
+        size += this.segments.get(i).size();
+      }
+      this.size = size;
+    }
+
+    @Override
+    public StudentDetail get(int index) {
+      Objects.checkIndex(index, size);
+      // 空の区間は持たないため、位置が一致する区間またはその直前の区間に含まれる
+      int segment = Arrays.binarySearch(offsets, index);
+      if (segment < 0) {
+        segment = -segment - 2;
+      }
+      return segments.get(segment).get(index - offsets[segment]);
+    }
+
+    @Override
+    public Iterator<StudentDetail> iterator() {
+      return segments.stream().flatMap(List::stream).iterator();
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -1,15 +1,33 @@
 package raisetech.student.management.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.student.management.data.Course;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.data.StudentCourseStatus;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.CourseEnrollmentCount;
+import raisetech.student.management.domain.StudentCount;
+import raisetech.student.management.domain.StudentCourseStatusCount;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentCourseStatusRejection;
+import raisetech.student.management.domain.StudentCourseStatusTransitionResult;
+import raisetech.student.management.domain.StudentDetailPage;
 import raisetech.student.management.exception.ResourceConflictException;
 import raisetech.student.management.exception.ResourceNotFoundException;
 import raisetech.student.management.repository.StudentRepository;
@@ -18,40 +36,55 @@ import raisetech.student.management.service.converter.StudentConverter;
 /**
  * 受講生情報を扱うサービス
  * 検索や登録、更新などを行う
+ * 検索は読み取り専用トランザクションで実行する（レプリカが設定されている場合はレプリカで実行される）
+ * ただし、結果にデータの版数（ETag）を付けて返却する検索やキャッシュに保持する検索はプライマリで実行する
+ * （レプリカの遅延により、新しい版数に古いデータが対応付けられたまま保持されないようにするため）
  */
 @Service
 @Transactional
 public class StudentService {
 
+  // 受講生IDを複数指定した検索で、1回の検索（IN句）に含める受講生IDの最大件数
+  private static final int ID_CHUNK_SIZE = 1000;
+
   private StudentRepository repository;
   private StudentConverter converter;
+  private CourseCatalog courseCatalog;
+  private DataVersion dataVersion;
+  private SingleFlight singleFlight;
+  private StudentDetailCache studentDetailCache;
+  private StudentReadModel readModel;
 
   @Autowired
-  public StudentService(StudentRepository repository, StudentConverter converter) {
+  public StudentService(StudentRepository repository, StudentConverter converter, CourseCatalog courseCatalog,
+      DataVersion dataVersion, SingleFlight singleFlight, StudentDetailCache studentDetailCache,
+      StudentReadModel readModel) {
     this.repository = repository;
     this.converter = converter;
+    this.courseCatalog = courseCatalog;
+    this.dataVersion = dataVersion;
+    this.singleFlight = singleFlight;
+    this.studentDetailCache = studentDetailCache;
+    this.readModel = readModel;
   }
 
   /**
    * 受講生情報を全件検索
    * @return
    */
+  @Transactional(readOnly = true)
   public List<Student> searchStudents() {
     return repository.searchStudents();
   }
 
   /**
    * 受講生のコース情報を全件検索
-   * コースidからコース名も取得して設定
+   * コース名はコース情報と結合して1回の検索でまとめて取得する
    * @return
    */
-  public List<StudentCourse> searchStudentCourses() throws ResourceNotFoundException {
-    List<StudentCourse> studentCourses = repository.searchStudentCourses();
-    for (StudentCourse studentCourse : studentCourses) {
-      String courseName = searchCourseNameById(studentCourse.getCourseId());
-      studentCourse.setCourseName(courseName);
-    }
-    return studentCourses;
+  @Transactional(readOnly = true)
+  public List<StudentCourse> searchStudentCourses() {
+    return repository.searchStudentCourses();
   }
 
   /**
@@ -59,6 +92,7 @@ public class StudentService {
    * @param id
    * @return
    */
+  @Transactional(readOnly = true)
   public Student searchStudentById(int id) throws ResourceNotFoundException {
     return repository.searchStudentById(id)
         .orElseThrow(() -> new ResourceNotFoundException("指定されたIDの受講生は存在しません"));
@@ -66,56 +100,168 @@ public class StudentService {
 
   /**
    * 受講生IDを指定して受講生のコース情報を検索
-   * コースidからコース名も取得して設定
+   * コース名はコース情報と結合して1回の検索でまとめて取得する
    * @param studentId
    * @return
    */
-  public List<StudentCourse> searchStudentCoursesByStudentId(int studentId) throws ResourceNotFoundException {
-    List<StudentCourse> studentCourses = repository.searchStudentCoursesByStudentId(studentId);
-    for (StudentCourse studentCourse : studentCourses) {
-      String courseName = searchCourseNameById(studentCourse.getCourseId());
-      studentCourse.setCourseName(courseName);
-    }
-    return studentCourses;
+  @Transactional(readOnly = true)
+  public List<StudentCourse> searchStudentCoursesByStudentId(int studentId) {
+    return repository.searchStudentCoursesByStudentId(studentId);
+  }
+
+  /**
+   * 一覧検索（受講生詳細情報の全件検索、申し込み状況による検索）の結果に対応するデータの版数
+   * 一覧検索のETagやレスポンスのキャッシュに使用する（読み取りモデルが有効な場合は、読み取りモデルに反映済みの版数）
+   * @return データの版数
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public long searchStudentDetailsVersion() {
+    return readModel.isEnabled() ? readModel.version() : dataVersion.current();
   }
 
   /**
    * 受講生詳細情報を全件検索
-   * 受講生情報と受講生のコース情報を結合した情報を返却
+   * 読み取りモデルが有効な場合は、データベースを検索せずに読み取りモデルから返却する
+   * 無効な場合は受講生情報と受講生のコース情報を結合した情報を返却（1回の検索で取得）
+   * 同時に呼び出された場合は1回だけ検索して結果を共有する（SingleFlight）
+   * 結果を待つ間に接続を保持しないよう、トランザクションは開始せず検索の実行時に接続を取得する（プライマリで検索する）
    * @return 受講生詳細情報一覧
    */
-  public List<StudentDetail> searchStudentDetails() throws ResourceNotFoundException {
-    List<Student> students = searchStudents();
-    List<StudentCourse> studentCourses = searchStudentCourses();
-    return converter.convertStudentDetails(students, studentCourses);
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public List<StudentDetail> searchStudentDetails() {
+    if (readModel.isEnabled()) {
+      return readModel.studentDetails();
+    }
+    return singleFlight.execute(flightKey("searchStudentDetails"), repository::searchStudentDetails);
+  }
+
+  /**
+   * 受講生詳細情報を全件、1件ずつ生成して受け渡す
+   * 受講生情報とコース情報をCursorで読み込みながら結合するため、件数に関わらずメモリ使用量は一定
+   * Cursorは読み込み終わるまでトランザクション（接続）を保持する必要があるため、このメソッド内で読み切る
+   * @param consumer 受講生詳細情報を受け取る処理
+   */
+  @Transactional(readOnly = true)
+  public void exportStudentDetails(Consumer<StudentDetail> consumer) {
+    try (Cursor<Student> students = repository.streamStudents();
+        Cursor<StudentCourse> studentCourses = repository.streamStudentCourses()) {
+      converter.streamStudentDetails(students, studentCourses, consumer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   /**
    * 受講生IDを指定して受講生詳細情報を検索
-   * 受講生情報と受講生のコース情報を結合した情報を返却
+   * 受講生情報と受講生のコース情報を結合した情報を返却（1回の検索で取得）
+   * 受講生詳細情報のキャッシュに保持している場合は検索しない（その受講生の更新時にキャッシュから削除される）
+   * キャッシュに保持する検索結果は次の更新まで返却され続けるため、レプリカではなくプライマリで検索する
+   * （読み取り専用トランザクションは開始せず、キャッシュも使用できるようトランザクション外で検索する）
    * @param id
    * @return idに対応する受講生詳細情報
    */
+  @Transactional(propagation = Propagation.SUPPORTS)
   public StudentDetail searchStudentDetailById(int id) throws ResourceNotFoundException {
-    Student student = searchStudentById(id);
-    List<StudentCourse> studentCourses = searchStudentCoursesByStudentId(id);
-    return new StudentDetail(student, studentCourses);
+    return studentDetailCache.getOrLoad(id, repository::searchStudentDetailById)
+        .orElseThrow(() -> new ResourceNotFoundException("指定されたIDの受講生は存在しません"));
+  }
+
+  /**
+   * 受講生IDを複数指定して受講生詳細情報を検索
+   * 受講生情報と受講生のコース情報をそれぞれIN句でまとめて検索するため、検索回数は受講生ID1000件ごとに2回となる
+   * 受講生IDを1件ずつ指定した検索と同様に、論理削除されている受講生も含む
+   * @param ids 受講生ID一覧
+   * @return 受講生詳細情報一覧（指定した受講生IDの順序、存在しない受講生IDは含まず、重複した受講生IDは1件にまとめる）
+   */
+  @Transactional(readOnly = true)
+  public List<StudentDetail> searchStudentDetailsByIds(List<Integer> ids) {
+    List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+    Map<Integer, StudentDetail> studentDetailsById = new HashMap<>();
+    for (int from = 0; from < distinctIds.size(); from += ID_CHUNK_SIZE) {
+      List<Integer> chunk = distinctIds.subList(from, Math.min(from + ID_CHUNK_SIZE, distinctIds.size()));
+      List<Student> students = repository.searchStudentsByIds(chunk);
+      if (students.isEmpty()) {
+        continue;
+      }
+      List<Integer> studentIds = students.stream().map(Student::getId).toList();
+      List<StudentCourse> studentCourses = repository.searchStudentCoursesByStudentIds(studentIds, null);
+      for (StudentDetail studentDetail : converter.convertStudentDetails(students, studentCourses)) {
+        studentDetailsById.put(studentDetail.getStudent().getId(), studentDetail);
+      }
+    }
+
+    List<StudentDetail> studentDetails = new ArrayList<>(studentDetailsById.size());
+    for (int id : distinctIds) {
+      StudentDetail studentDetail = studentDetailsById.get(id);
+      if (studentDetail != null) {
+        studentDetails.add(studentDetail);
+      }
+    }
+    return studentDetails;
+  }
+
+  /**
+   * 受講生数（論理削除されていない受講生数と論理削除されている受講生数）を検索
+   * 件数はデータベース側で数えるため、受講生情報は取得しない
+   * 結果にはデータの版数（ETag）を付けて返却するため、プライマリで検索する
+   * 2つの件数を同じ時点で数えるよう、読み取り専用ではないトランザクションで検索する
+   * @return 受講生数
+   */
+  @Transactional
+  public StudentCount countStudents() {
+    return new StudentCount(repository.countStudents(), repository.countDeletedStudents());
+  }
+
+  /**
+   * 申し込み状況ごとに受講生コース数と受講生数を集計（論理削除されている受講生は除外）
+   * 集計はデータベース側で行うため、受講生情報やコース情報は取得しない
+   * 結果にはデータの版数（ETag）を付けて返却するため、プライマリで検索する
+   * @return 申し込み状況ごとの件数（全ての申し込み状況を定義順に含み、該当するものがない場合は0件）
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public List<StudentCourseStatusCount> countStudentCoursesByStatus() {
+    Map<StudentCourseStatusType, StudentCourseStatusCount> counts = new EnumMap<>(StudentCourseStatusType.class);
+    for (StudentCourseStatusType status : StudentCourseStatusType.values()) {
+      counts.put(status, new StudentCourseStatusCount(status, 0, 0));
+    }
+    for (StudentCourseStatusCount count : repository.countStudentCoursesByStatus()) {
+      // 不正なコードの申し込み状況（null）は集計に含めない
+      if (count.getStatus() != null) {
+        counts.put(count.getStatus(), count);
+      }
+    }
+    return new ArrayList<>(counts.values());
+  }
+
+  /**
+   * コースごとに受講生コース数と受講生数を集計（論理削除されている受講生は除外）
+   * 集計はデータベース側で行うため、受講生情報やコース情報は取得しない
+   * 結果にはデータの版数（ETag）を付けて返却するため、プライマリで検索する
+   * @return コースごとの件数（コースIDの昇順、受講生がいないコースも含む）
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public List<CourseEnrollmentCount> countStudentCoursesByCourse() {
+    return repository.countStudentCoursesByCourse();
   }
 
   /**
    * コース情報を全件検索
    */
+  @Transactional(readOnly = true)
   public List<Course> searchCourses() {
     return repository.searchCourses();
   }
 
   /**
    * コースIDを指定してコース名を検索
+   * コース情報のキャッシュから検索するため、データベースへの問い合わせは発生しない
    * @param id
    * @return
    */
+  @Transactional(readOnly = true)
   public String searchCourseNameById(int id) throws ResourceNotFoundException {
-    return repository.searchCourseNameById(id)
+    return courseCatalog.findById(id)
+        .map(Course::getName)
         .orElseThrow(() -> new ResourceNotFoundException("指定されたIDのコースは存在しません"));
   }
 
@@ -129,6 +275,8 @@ public class StudentService {
 //    ①受講生情報を登録
     Student student = studentDetail.getStudent();
     repository.insertStudent(student);
+    readModel.markStudentsChangedAfterCommit(List.of(student.getId()));
+    dataVersion.incrementAfterCommit();
 
 //    ②コース情報を登録
     StudentCourse studentCourse = studentDetail.getStudentCourses().get(0);
@@ -141,22 +289,30 @@ public class StudentService {
 //    ①受講生情報を更新
     Student student = studentDetail.getStudent();
     repository.updateStudent(student);
+    readModel.markStudentsChangedAfterCommit(List.of(student.getId()));
+    dataVersion.incrementAfterCommit();
+    studentDetailCache.invalidateStudentAfterCommit(student.getId());
   }
 
   @Transactional
   public void registerStudentCourse(StudentCourse studentCourse) throws ResourceNotFoundException {
-    // courseIdが存在するかを確認
+    // courseIdが存在するかを確認（コース情報のキャッシュで確認）
     searchCourseNameById(studentCourse.getCourseId());
     // studentIdが存在するかを確認
     searchStudentById(studentCourse.getStudentId());
     // 存在する場合は登録（同時に申し込み状況を新規登録）
     repository.insertStudentCourse(studentCourse);
     repository.insertStudentCourseStatus(new StudentCourseStatus(studentCourse.getId()));
+    readModel.markStudentsChangedAfterCommit(List.of(studentCourse.getStudentId()));
+    dataVersion.incrementAfterCommit();
+    studentDetailCache.invalidateStudentAfterCommit(studentCourse.getStudentId());
   }
 
   @Transactional
   public void registerCourse(Course course) {
     repository.insertCourse(course);
+    courseCatalog.putAfterCommit(course);
+    dataVersion.incrementAfterCommit();
   }
 
   @Transactional
@@ -168,51 +324,152 @@ public class StudentService {
     }
 
     repository.deleteStudent(id);
+    readModel.markStudentsChangedAfterCommit(List.of(id));
+    dataVersion.incrementAfterCommit();
+    studentDetailCache.invalidateStudentAfterCommit(id);
   }
 
+  /**
+   * 受講生コース申し込み状況を受講中に更新
+   * 申し込み状況の確認と更新は条件付きUPDATE（仮申し込みの場合のみ更新）の1回で行い、更新件数で成否を判定する
+   * 同時に更新された場合も成功するのは1件だけで、現在の申し込み状況は更新できなかった場合にのみ検索する
+   * @param studentCourseId
+   */
   @Transactional(rollbackFor = ResourceNotFoundException.class)
   public void updateStudentCourseStatusInProgress(int studentCourseId) throws ResourceNotFoundException, ResourceConflictException {
-    // 存在する受講生コースIDかを確認
-    StudentCourseStatus studentCourseStatus = repository.searchStudentCourseStatusByStudentCourseId(studentCourseId)
-        .orElseThrow(() -> new ResourceNotFoundException("指定されたIDの受講生コース申し込み状況は存在しません"));
-    // 現在の申し込み状況が仮申し込みでない場合はResourceConflictExceptionをスロー
-    if (studentCourseStatus.getStatus().equals("受講中")) {
-      throw new ResourceConflictException("既に受講中の受講生コースです");
-    } else if (studentCourseStatus.getStatus().equals("完了")) {
-      throw new ResourceConflictException("既に完了している受講生コースです");
-    } else if (!studentCourseStatus.getStatus().equals("仮申し込み")) {
-      throw new ResourceConflictException("申し込み状況が不正です");
-    }
-    // 問題なければ受講中に更新
-    repository.updateStudentCourseStatusInProgress(studentCourseId);
+    if (repository.updateStudentCourseStatusInProgress(studentCourseId) == 0) {
+      // 更新できなかった理由を確認（存在しない場合はResourceNotFoundException、それ以外はResourceConflictException）
+      StudentCourseStatus studentCourseStatus = repository.searchStudentCourseStatusByStudentCourseId(studentCourseId)
+          .orElseThrow(() -> new ResourceNotFoundException("指定されたIDの受講生コース申し込み状況は存在しません"));
+      throw new ResourceConflictException(conflictReasonOrDefault(conflictReasonForInProgress(studentCourseStatus.getStatus())));
+    }
     // startDateとendDueDateを設定
-    updateStudentCourseDateInProgress(studentCourseId);
-  }
-
-  private void updateStudentCourseDateInProgress(int studentCourseId) throws ResourceNotFoundException {
-    StudentCourse studentCourse = repository.searchStudentCourseById(studentCourseId)
-        .orElseThrow(() -> new ResourceNotFoundException("指定されたIDの受講生コース情報は存在しません"));
     LocalDate now = LocalDate.now();
-    studentCourse.setStartDate(now);
-    studentCourse.setEndDueDate(now.plusWeeks(16));
-    repository.updateStudentCourse(studentCourse);
+    if (repository.updateStudentCourseDates(List.of(studentCourseId), now, now.plusWeeks(16)) == 0) {
+      throw new ResourceNotFoundException("指定されたIDの受講生コース情報は存在しません");
+    }
+    readModel.markStudentCoursesChangedAfterCommit(List.of(studentCourseId));
+    dataVersion.incrementAfterCommit();
+    studentDetailCache.invalidateStudentCoursesAfterCommit(List.of(studentCourseId));
   }
 
+  /**
+   * 受講生コース申し込み状況を完了に更新
+   * 申し込み状況の確認と更新は条件付きUPDATE（受講中の場合のみ更新）の1回で行い、更新件数で成否を判定する
+   * @param studentCourseId
+   */
   @Transactional
   public void updateStudentCourseStatusCompleted(int studentCourseId) throws ResourceNotFoundException, ResourceConflictException {
-    // 存在する受講生コースIDかを確認
-    StudentCourseStatus studentCourseStatus = repository.searchStudentCourseStatusByStudentCourseId(studentCourseId)
-        .orElseThrow(() -> new ResourceNotFoundException("指定されたIDの受講生コース情報は存在しません"));
-    // 現在の申し込み状況が受講中でない場合はResourceConflictExceptionをスロー
-    if (studentCourseStatus.getStatus() == "完了") {
-      throw new ResourceConflictException("既に完了している受講生コースです");
-    } else if (studentCourseStatus.getStatus() == "仮申し込み") {
-      throw new ResourceConflictException("仮申し込みの受講生コースは完了できません");
-    } else if (!studentCourseStatus.getStatus().equals("受講中")) {
-      throw new ResourceConflictException("申し込み状況が不正です");
+    if (repository.updateStudentCourseStatusCompleted(studentCourseId) == 0) {
+      // 更新できなかった理由を確認（存在しない場合はResourceNotFoundException、それ以外はResourceConflictException）
+      StudentCourseStatus studentCourseStatus = repository.searchStudentCourseStatusByStudentCourseId(studentCourseId)
+          .orElseThrow(() -> new ResourceNotFoundException("指定されたIDの受講生コース情報は存在しません"));
+      throw new ResourceConflictException(conflictReasonOrDefault(conflictReasonForCompleted(studentCourseStatus.getStatus())));
+    }
+    readModel.markStudentCoursesChangedAfterCommit(List.of(studentCourseId));
+    dataVersion.incrementAfterCommit();
+    studentDetailCache.invalidateStudentCoursesAfterCommit(List.of(studentCourseId));
+  }
+
+  /**
+   * 受講生コース申し込み状況を一括更新（受講中または完了）
+   * 申し込み状況の確認と更新は件数に関わらずまとめて行う（受講中の場合は受講開始日と受講終了予定日も更新）
+   * 更新できない受講生コースは更新せず、個別更新と同じ理由を付けて返却する
+   * @param studentCourseIds 受講生コースID一覧
+   * @param status 更新後の申し込み状況（受講中または完了）
+   * @return 更新した受講生コースIDと、更新できなかった受講生コースIDおよびその理由
+   */
+  @Transactional
+  public StudentCourseStatusTransitionResult updateStudentCourseStatuses(List<Integer> studentCourseIds,
+      StudentCourseStatusType status) {
+    boolean inProgress = status == StudentCourseStatusType.IN_PROGRESS;
+    if (!inProgress && status != StudentCourseStatusType.COMPLETED) {
+      throw new IllegalArgumentException("更新後の申し込み状況は受講中または完了を指定してください");
     }
-    // 問題なければ完了に更新
-    repository.updateStudentCourseStatusCompleted(studentCourseId);
+    List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(studentCourseIds));
+
+    // 現在の申し込み状況をまとめて検索（更新が終わるまで他の更新を待たせる）
+    Map<Integer, StudentCourseStatusType> currentStatuses = new HashMap<>();
+    for (StudentCourseStatus studentCourseStatus : repository.searchStudentCourseStatusesByStudentCourseIdsForUpdate(ids)) {
+      currentStatuses.put(studentCourseStatus.getStudentCourseId(), studentCourseStatus.getStatus());
+    }
+
+    List<Integer> updatedIds = new ArrayList<>();
+    List<StudentCourseStatusRejection> rejections = new ArrayList<>();
+    for (int id : ids) {
+      String reason;
+      if (!currentStatuses.containsKey(id)) {
+        reason = inProgress ? "指定されたIDの受講生コース申し込み状況は存在しません" : "指定されたIDの受講生コース情報は存在しません";
+      } else {
+        StudentCourseStatusType currentStatus = currentStatuses.get(id);
+        reason = inProgress ? conflictReasonForInProgress(currentStatus) : conflictReasonForCompleted(currentStatus);
+      }
+      if (reason == null) {
+        updatedIds.add(id);
+      } else {
+        rejections.add(new StudentCourseStatusRejection(id, reason));
+      }
+    }
+
+    if (!updatedIds.isEmpty()) {
+      repository.updateStudentCourseStatuses(updatedIds,
+          inProgress ? StudentCourseStatusType.PRE_ENROLLMENT : StudentCourseStatusType.IN_PROGRESS, status);
+      if (inProgress) {
+        LocalDate now = LocalDate.now();
+        repository.updateStudentCourseDates(updatedIds, now, now.plusWeeks(16));
+      }
+      readModel.markStudentCoursesChangedAfterCommit(updatedIds);
+      dataVersion.incrementAfterCommit();
+      studentDetailCache.invalidateStudentCoursesAfterCommit(updatedIds);
+    }
+    return new StudentCourseStatusTransitionResult(status, updatedIds, rejections);
+  }
+
+  /**
+   * SingleFlightのキー（検索の名前、検索条件、データの版数）
+   * データの版数を含めるため、更新のコミット後に呼び出された検索は、コミット前に開始された検索の結果を共有しない
+   */
+  private List<Object> flightKey(Object... query) {
+    List<Object> key = new ArrayList<>(List.of(query));
+    key.add(dataVersion.current());
+    return key;
+  }
+
+  /**
+   * 条件付きUPDATEで更新できなかった後に申し込み状況が元に戻されていた場合など、理由が特定できない場合の理由
+   */
+  private String conflictReasonOrDefault(String conflictReason) {
+    return conflictReason != null ? conflictReason : "申し込み状況が不正です";
+  }
+
+  /**
+   * 受講中に更新できない場合の理由（更新できる場合はnull）
+   * @param currentStatus 現在の申し込み状況（不正なコードの場合はnull）
+   */
+  private String conflictReasonForInProgress(StudentCourseStatusType currentStatus) {
+    if (currentStatus == null) {
+      return "申し込み状況が不正です";
+    }
+    return switch (currentStatus) {
+      case PRE_ENROLLMENT -> null;
+      case IN_PROGRESS -> "既に受講中の受講生コースです";
+      case COMPLETED -> "既に完了している受講生コースです";
+    };
+  }
+
+  /**
+   * 完了に更新できない場合の理由（更新できる場合はnull）
+   * @param currentStatus 現在の申し込み状況（不正なコードの場合はnull）
+   */
+  private String conflictReasonForCompleted(StudentCourseStatusType currentStatus) {
+    if (currentStatus == null) {
+      return "申し込み状況が不正です";
+    }
+    return switch (currentStatus) {
+      case IN_PROGRESS -> null;
+      case PRE_ENROLLMENT -> "仮申し込みの受講生コースは完了できません";
+      case COMPLETED -> "既に完了している受講生コースです";
+    };
   }
 
   public StudentCourse searchStudentCourseById(int id) throws ResourceNotFoundException {
@@ -225,18 +482,107 @@ public class StudentService {
         .orElseThrow(() -> new ResourceNotFoundException("指定されたIDの受講生コース申し込み状況は存在しません"));
   }
 
-
+  /**
+   * 受講中のコースを含む受講生詳細情報を全件検索
+   * 読み取りモデルが有効な場合は、データベースを検索せずに読み取りモデルから返却する
+   * 無効な場合、申し込み状況による絞り込みはデータベース側で行い、該当する行のみを取得する
+   * 同時に呼び出された場合は1回だけ検索して結果を共有する（SingleFlight）
+   * @return 受講生詳細情報一覧（受講中のコースのみを含む）
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
   public List<StudentDetail> searchStudentDetailsInProgress() {
-    List<Student> students = repository.searchStudents();
-    List<StudentCourse> studentCourses = repository.searchStudentCourses();
-    List<StudentCourseStatus> studentCourseStatusesInProgress = repository.searchStudentCourseStatusesInProgress();
-    return converter.convertStudentDetailsWithStatus(students, studentCourses, studentCourseStatusesInProgress);
+    if (readModel.isEnabled()) {
+      return readModel.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.IN_PROGRESS));
+    }
+    return singleFlight.execute(flightKey("searchStudentDetailsInProgress"),
+        () -> repository.searchStudentDetailsByStatus(StudentCourseStatusType.IN_PROGRESS));
   }
 
+  /**
+   * 仮申し込みのコースを含む受講生詳細情報を全件検索
+   * 読み取りモデルが有効な場合は、データベースを検索せずに読み取りモデルから返却する
+   * 無効な場合、申し込み状況による絞り込みはデータベース側で行い、該当する行のみを取得する
+   * 同時に呼び出された場合は1回だけ検索して結果を共有する（SingleFlight）
+   * @return 受講生詳細情報一覧（仮申し込みのコースのみを含む）
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
   public List<StudentDetail> searchStudentDetailsPreEnrollment() {
-    List<Student> students = repository.searchStudents();
-    List<StudentCourse> studentCourses = repository.searchStudentCourses();
-    List<StudentCourseStatus> studentCourseStatusesPreEnrollment = repository.searchStudentCourseStatusesPreEnrollment();
-    return converter.convertStudentDetailsWithStatus(students, studentCourses, studentCourseStatusesPreEnrollment);
+    if (readModel.isEnabled()) {
+      return readModel.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.PRE_ENROLLMENT));
+    }
+    return singleFlight.execute(flightKey("searchStudentDetailsPreEnrollment"),
+        () -> repository.searchStudentDetailsByStatus(StudentCourseStatusType.PRE_ENROLLMENT));
+  }
+
+  /**
+   * 指定した申し込み状況のいずれかに該当するコースを含む受講生詳細情報を全件検索
+   * 読み取りモデルが有効な場合は、データベースを検索せずに読み取りモデルから返却する
+   * 無効な場合、申し込み状況による絞り込みはデータベース側で行い（IN句）、該当する行のみを1回の検索で取得する
+   * 同じ申し込み状況の組み合わせで同時に呼び出された場合は1回だけ検索して結果を共有する（SingleFlight）
+   * @param statuses 申し込み状況（複数指定可）
+   * @return 受講生詳細情報一覧（該当するコースのみを含む）
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public List<StudentDetail> searchStudentDetailsByStatuses(List<StudentCourseStatusType> statuses) {
+    EnumSet<StudentCourseStatusType> statusSet = EnumSet.noneOf(StudentCourseStatusType.class);
+    statusSet.addAll(statuses);
+    if (readModel.isEnabled()) {
+      return readModel.studentDetailsByStatuses(statusSet);
+    }
+    if (statusSet.isEmpty()) {
+      return List.of();
+    }
+    return singleFlight.execute(flightKey("searchStudentDetailsByStatuses", statusSet),
+        () -> repository.searchStudentDetailsByStatuses(statusSet));
+  }
+
+  /**
+   * 受講生詳細情報をページ単位で検索（受講生IDによるキーセットページング）
+   * @param after この受講生IDより後の受講生を検索（最初のページは0）
+   * @param limit 1ページの件数
+   * @return 受講生詳細情報のページ
+   */
+  @Transactional(readOnly = true)
+  public StudentDetailPage searchStudentDetailPage(int after, int limit) {
+    return searchStudentDetailPage(after, limit, null);
+  }
+
+  /**
+   * 受講中のコースを含む受講生詳細情報をページ単位で検索（受講生IDによるキーセットページング）
+   * @param after この受講生IDより後の受講生を検索（最初のページは0）
+   * @param limit 1ページの件数
+   * @return 受講生詳細情報のページ（受講中のコースのみを含む）
+   */
+  @Transactional(readOnly = true)
+  public StudentDetailPage searchStudentDetailPageInProgress(int after, int limit) {
+    return searchStudentDetailPage(after, limit, StudentCourseStatusType.IN_PROGRESS);
+  }
+
+  /**
+   * 仮申し込みのコースを含む受講生詳細情報をページ単位で検索（受講生IDによるキーセットページング）
+   * @param after この受講生IDより後の受講生を検索（最初のページは0）
+   * @param limit 1ページの件数
+   * @return 受講生詳細情報のページ（仮申し込みのコースのみを含む）
+   */
+  @Transactional(readOnly = true)
+  public StudentDetailPage searchStudentDetailPagePreEnrollment(int after, int limit) {
+    return searchStudentDetailPage(after, limit, StudentCourseStatusType.PRE_ENROLLMENT);
+  }
+
+  private StudentDetailPage searchStudentDetailPage(int after, int limit, StudentCourseStatusType status) {
+    // 次のページの有無を判定するために1件多く検索する
+    List<Student> students = repository.searchStudentsAfter(after, limit + 1, status);
+    Integer nextCursor = null;
+    if (students.size() > limit) {
+      students = students.subList(0, limit);
+      nextCursor = students.get(limit - 1).getId();
+    }
+    if (students.isEmpty()) {
+      return new StudentDetailPage(List.of(), null);
+    }
+    // コース情報はこのページの受講生の分だけを検索する
+    List<Integer> studentIds = students.stream().map(Student::getId).toList();
+    List<StudentCourse> studentCourses = repository.searchStudentCoursesByStudentIds(studentIds, status);
+    return new StudentDetailPage(converter.convertStudentDetails(students, studentCourses), nextCursor);
   }
 }
@@ -1,12 +1,12 @@
 package raisetech.student.management.service.converter;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Component;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
-import raisetech.student.management.data.StudentCourseStatus;
 import raisetech.student.management.domain.StudentDetail;
 
 /**
@@ -16,48 +16,47 @@ import raisetech.student.management.domain.StudentDetail;
 public class StudentConverter {
   /**
    * 受講生情報に基づくコース情報をマッピングする
+   * 受講生のコース情報を受講生IDごとに1回の走査でまとめてから結合するため、件数に対して線形時間で処理できる
+   * 受講生詳細の順序は受講生情報の順序を保つ
    * @param students 受講生情報
    * @param studentCourses 受講生のコース情報一覧
    * @return 受講生情報と受講生のコース情報を結合した情報
    */
   public List<StudentDetail> convertStudentDetails(List<Student> students,
       List<StudentCourse> studentCourses) {
-    List<StudentDetail> studentDetails = new ArrayList<>();
-    students.forEach(student -> {
-      List<StudentCourse> convertStudentCourses = studentCourses.stream()
-          .filter(studentCourse -> student.getId() == studentCourse.getStudentId())
-          .collect(Collectors.toList());
-      StudentDetail studentDetail = new StudentDetail(student, convertStudentCourses);
+    StudentCourseIndex studentCourseIndex = StudentCourseIndex.of(studentCourses);
+    List<StudentDetail> studentDetails = new ArrayList<>(students.size());
+    for (Student student : students) {
+      StudentDetail studentDetail = new StudentDetail(student, studentCourseIndex.get(student.getId()));
       studentDetails.add(studentDetail);
-    });
+    }
     return studentDetails;
   }
 
   /**
-   * 申し込み状況に該当するものに限定して受講生情報に基づくコース情報をマッピングする
-   * @param students 受講生情報
-   * @param studentCourses 受講生のコース情報一覧
-   * @param studentCourseStatuses 受講生のコース申し込み状況一覧
-   * @return 受講生情報と受講生のコース情報を結合した情報
+   * 受講生情報に基づくコース情報を1件ずつマッピングして受け渡す
+   * 受講生情報と受講生のコース情報がどちらも受講生IDの昇順に並んでいることを前提に突き合わせる（マージ結合）ため、
+   * 全件をメモリに保持せずに処理できる
+   * @param students 受講生情報（受講生IDの昇順）
+   * @param studentCourses 受講生のコース情報（受講生IDの昇順）
+   * @param consumer 受講生詳細を受け取る処理
    */
-  public List<StudentDetail> convertStudentDetailsWithStatus(List<Student> students, List<StudentCourse> studentCourses, List<StudentCourseStatus> studentCourseStatuses) {
-    List<StudentDetail> studentDetails = new ArrayList<>();
-    // studentCoursesからstudentCourseStatusesに含まれるもののみを抽出
-    List<StudentCourse> filteredStudentCourses = studentCourses.stream()
-        .filter(studentCourse -> studentCourseStatuses.stream()
-            .anyMatch(studentCourseStatus -> studentCourse.getId() == studentCourseStatus.getStudentCourseId()))
-        .collect(Collectors.toList());
-    // studentDetailに変換するが、studentCourseのないものは除外
-    students.forEach(student -> {
-      List<StudentCourse> convertStudentCourses = filteredStudentCourses.stream()
-          .filter(studentCourse -> student.getId() == studentCourse.getStudentId())
-          .collect(Collectors.toList());
-      if (!convertStudentCourses.isEmpty()) {
-        StudentDetail studentDetail = new StudentDetail(student, convertStudentCourses);
-        studentDetails.add(studentDetail);
+  public void streamStudentDetails(Iterable<Student> students, Iterable<StudentCourse> studentCourses,
+      Consumer<StudentDetail> consumer) {
+    Iterator<StudentCourse> studentCourseIterator = studentCourses.iterator();
+    StudentCourse next = studentCourseIterator.hasNext() ? studentCourseIterator.next() : null;
+    for (Student student : students) {
+      // 受講生情報に含まれない受講生（論理削除されているものなど）のコース情報は読み飛ばす
+      while (next != null && next.getStudentId() < student.getId()) {
+        next = studentCourseIterator.hasNext() ? studentCourseIterator.next() : null;
       }
-    });
-    return studentDetails;
+      List<StudentCourse> convertStudentCourses = new ArrayList<>();
+      while (next != null && next.getStudentId() == student.getId()) {
+        convertStudentCourses.add(next);
+        next = studentCourseIterator.hasNext() ? studentCourseIterator.next() : null;
+      }
+      consumer.accept(new StudentDetail(student, convertStudentCourses));
+    }
   }
 
 }
@@ -0,0 +1,80 @@
+package raisetech.student.management.service.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import raisetech.student.management.data.StudentCourse;
+
+/**
+ * 受講生IDをキーとして受講生のコース情報をまとめるインデックス
+ *
+ * 受講生IDはint型のままオープンアドレス法（線形探索）のハッシュ表で管理するため、ボクシングが発生しない
+ * 受講生のコース情報一覧を1回走査するだけで構築でき、検索は平均O(1)で行える
+ */
+final class StudentCourseIndex {
+
+  private final int[] keys;
+  private final List<StudentCourse>[] values;
+  private final int mask;
+
+  @SuppressWarnings("unchecked")
+  private StudentCourseIndex(int capacity) {
+    this.keys = new int[capacity];
+    this.values = new List[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * 受講生のコース情報一覧から受講生IDごとのインデックスを構築する
+   * 同じ受講生IDのコース情報は元の一覧の順序を保ってまとめられる
+   * @param studentCourses 受講生のコース情報一覧
+   * @return 受講生IDごとのインデックス
+   */
+  static StudentCourseIndex of(List<StudentCourse> studentCourses) {
+    // 受講生IDの種類数はコース情報の件数以下なので、負荷率が0.5以下になるように確保すれば拡張は不要
+    StudentCourseIndex index = new StudentCourseIndex(tableSizeFor(studentCourses.size()));
+    for (StudentCourse studentCourse : studentCourses) {
+      index.add(studentCourse);
+    }
+    return index;
+  }
+
+  /**
+   * 受講生IDに対応するコース情報を取得する
+   * @param studentId 受講生ID
+   * @return 受講生IDに対応するコース情報一覧（存在しない場合は空のList）
+   */
+  List<StudentCourse> get(int studentId) {
+    int slot = hash(studentId);
+    while (values[slot] != null) {
+      if (keys[slot] == studentId) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return new ArrayList<>();
+  }
+
+  private void add(StudentCourse studentCourse) {
+    int studentId = studentCourse.getStudentId();
+    int slot = hash(studentId);
+    while (values[slot] != null && keys[slot] != studentId) {
+      slot = (slot + 1) & mask;
+    }
+    if (values[slot] == null) {
+      keys[slot] = studentId;
+      values[slot] = new ArrayList<>();
+    }
+    values[slot].add(studentCourse);
+  }
+
+  private int hash(int key) {
+    // 連番のIDが隣接スロットに偏らないように攪拌する
+    int h = key * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private static int tableSizeFor(int expectedSize) {
+    int size = Math.max(2, expectedSize * 2);
+    return Integer.highestOneBit(size - 1) << 1;
+  }
+}
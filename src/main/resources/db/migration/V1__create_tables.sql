@@ -1,3 +1,6 @@
+-- 初期スキーマ
+-- 既存のデータベースにはbaseline-on-migrateによりこのバージョンが適用済みとして記録され、V2以降のみが適用される
+
 CREATE TABLE students (
     id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(50) NOT NULL,
@@ -8,7 +11,7 @@ CREATE TABLE students (
     age INT,
     gender VARCHAR(10),
     remark VARCHAR(100),
-    deleted TINYINT DEFAULT FALSE
+    deleted TINYINT DEFAULT 0
 );
 
 CREATE TABLE courses (
@@ -28,7 +31,7 @@ CREATE TABLE student_courses (
 );
 
 CREATE TABLE student_course_statuses (
-    id INT AUTO_INCREMENT PRIMARY KEY,
+    id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
     student_course_id INT NOT NULL UNIQUE,
     status VARCHAR(10) NOT NULL,
     FOREIGN KEY (student_course_id) REFERENCES student_courses(id) ON DELETE CASCADE
@@ -0,0 +1,17 @@
+-- 受講生コース申し込み状況を日本語の文字列（VARCHAR）から整数のコード（TINYINT）に変換する
+-- コード: 1 = 仮申し込み, 2 = 受講中, 3 = 完了（StudentCourseStatusType）
+-- 該当しない文字列は0に変換され、アプリケーションでは申し込み状況が不正なものとして扱われる
+
+ALTER TABLE student_course_statuses ADD COLUMN status_code TINYINT NOT NULL DEFAULT 0;
+
+UPDATE student_course_statuses
+SET status_code = CASE status
+  WHEN '仮申し込み' THEN 1
+  WHEN '受講中' THEN 2
+  WHEN '完了' THEN 3
+  ELSE 0
+END;
+
+ALTER TABLE student_course_statuses DROP COLUMN status;
+
+ALTER TABLE student_course_statuses CHANGE COLUMN status_code status TINYINT NOT NULL;
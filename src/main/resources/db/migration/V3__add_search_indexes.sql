@@ -0,0 +1,13 @@
+-- studentRepository.xmlの検索条件と結合条件に使用する索引
+
+-- 受講生IDによる受講生のコース情報の検索と、受講生情報との結合
+CREATE INDEX idx_student_courses_student_id ON student_courses (student_id, id);
+
+-- コースIDによる受講生のコース情報の検索と、コース情報との結合
+CREATE INDEX idx_student_courses_course_id ON student_courses (course_id);
+
+-- 申し込み状況による絞り込み（受講生コースIDも含めて索引のみで結合先を特定する）
+CREATE INDEX idx_student_course_statuses_status ON student_course_statuses (status, student_course_id);
+
+-- 論理削除されていない受講生の一覧（deleted = 0 ORDER BY id、およびキーセットページングのid > ?）
+CREATE INDEX idx_students_deleted_id ON students (deleted, id);
@@ -0,0 +1,158 @@
+package raisetech.student.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import raisetech.student.management.service.DataVersion;
+
+class SerializedResponseCacheTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final DataVersion dataVersion = new DataVersion();
+
+  @Test
+  void 同じキーはデータの版数が変わるまで検索されずに同じバイト列が返却されること() {
+    SerializedResponseCache sut = cache(DataSize.ofMegabytes(1), false);
+    AtomicInteger loadCount = new AtomicInteger();
+    Supplier<List<String>> loader = () -> {
+      loadCount.incrementAndGet();
+      return List.of("a", "b");
+    };
+
+    ResponseEntity<byte[]> first = sut.getOrLoad("students", dataVersion.current(), false, loader);
+    ResponseEntity<byte[]> second = sut.getOrLoad("students", dataVersion.current(), false, loader);
+
+    assertThat(loadCount.get()).isEqualTo(1);
+    assertThat(new String(second.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"a\",\"b\"]");
+    assertThat(second.getBody()).isSameAs(first.getBody());
+    assertThat(second.getHeaders().getContentLength()).isEqualTo(second.getBody().length);
+
+    dataVersion.incrementAfterCommit();
+    sut.getOrLoad("students", dataVersion.current(), false, loader);
+    assertThat(loadCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  void データの版数が変わった後に保持する時点で古い版数のものが削除されること() {
+    SerializedResponseCache sut = cache(DataSize.ofMegabytes(1), false);
+    sut.getOrLoad("students", dataVersion.current(), false, () -> List.of("a"));
+    sut.getOrLoad("students/inProgress", dataVersion.current(), false, () -> List.of("b"));
+
+    dataVersion.incrementAfterCommit();
+    sut.getOrLoad("students", dataVersion.current(), false, () -> List.of("c"));
+
+    assertThat(sut.entryCount()).isEqualTo(1);
+    assertThat(sut.totalBytes()).isEqualTo("[\"c\"]".length());
+  }
+
+  @Test
+  void 合計サイズが上限を超えた場合は最も長く使用されていないものから削除されること() {
+    // 1件あたり7バイト（["aaa"]）、上限は2件分
+    SerializedResponseCache sut = cache(DataSize.ofBytes(14), false);
+    AtomicInteger loadCount = new AtomicInteger();
+    sut.getOrLoad("a", dataVersion.current(), false, () -> List.of("aaa"));
+    sut.getOrLoad("b", dataVersion.current(), false, () -> List.of("bbb"));
+    sut.getOrLoad("a", dataVersion.current(), false, () -> List.of("aaa"));
+    sut.getOrLoad("c", dataVersion.current(), false, () -> List.of("ccc"));
+
+    assertThat(sut.entryCount()).isEqualTo(2);
+    assertThat(sut.totalBytes()).isEqualTo(14);
+    sut.getOrLoad("a", dataVersion.current(), false, () -> {
+      loadCount.incrementAndGet();
+      return List.of("aaa");
+    });
+    sut.getOrLoad("b", dataVersion.current(), false, () -> {
+      loadCount.incrementAndGet();
+      return List.of("bbb");
+    });
+    // aは直前に使用されたため保持され、bは削除されていること
+    assertThat(loadCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  void 上限を超える大きさのレスポンスは保持されずに返却されること() {
+    SerializedResponseCache sut = cache(DataSize.ofBytes(4), false);
+
+    ResponseEntity<byte[]> actual = sut.getOrLoad("students", dataVersion.current(), false, () -> List.of("aaa"));
+
+    assertThat(new String(actual.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"aaa\"]");
+    assertThat(sut.entryCount()).isZero();
+  }
+
+  @Test
+  void gzipを有効にした場合は対応するクライアントに圧縮したまま返却されること() throws IOException {
+    SerializedResponseCache sut = cache(DataSize.ofMegabytes(1), true);
+
+    ResponseEntity<byte[]> gzip = sut.getOrLoad("students", dataVersion.current(), true, () -> List.of("a"));
+    ResponseEntity<byte[]> plain = sut.getOrLoad("students", dataVersion.current(), false, () -> List.of("a"));
+
+    assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+      assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("[\"a\"]");
+    }
+    assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    assertThat(new String(plain.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"a\"]");
+    assertThat(plain.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  @Test
+  void ヒット率とサイズがメトリクスとして出力されること() {
+    SerializedResponseCache sut = cache(DataSize.ofMegabytes(1), false);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    sut.bindTo(registry);
+
+    sut.getOrLoad("students", dataVersion.current(), false, () -> List.of("a"));
+    sut.getOrLoad("students", dataVersion.current(), false, () -> List.of("a"));
+    sut.getOrLoad("students", dataVersion.current(), false, () -> List.of("a"));
+
+    assertThat(registry.get("student.response.cache.requests").tag("result", "hit").functionCounter().count())
+        .isEqualTo(2);
+    assertThat(registry.get("student.response.cache.requests").tag("result", "miss").functionCounter().count())
+        .isEqualTo(1);
+    assertThat(registry.get("student.response.cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+    assertThat(registry.get("student.response.cache.size").gauge().value()).isEqualTo("[\"a\"]".length());
+    assertThat(registry.get("student.response.cache.entries").gauge().value()).isEqualTo(1);
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+      "gzip | true",
+      "gzip, deflate, br | true",
+      "GZIP;q=0.5 | true",
+      "x-gzip | true",
+      "* | true",
+      "gzip;q=0 | false",
+      "gzip; q=0.0, deflate | false",
+      "*, gzip;q=0 | false",
+      "deflate, br | false",
+      "*;q=0 | false",
+      "gzip;q=abc | false",
+      "identity | false"
+  })
+  void AcceptEncodingの品質値を考慮してgzipを受け入れるかどうかが判定されること(String acceptEncoding, boolean expected) {
+    assertThat(SerializedResponseCache.acceptsGzip(acceptEncoding)).isEqualTo(expected);
+  }
+
+  @Test
+  void AcceptEncodingがない場合はgzipを受け入れないと判定されること() {
+    assertThat(SerializedResponseCache.acceptsGzip(null)).isFalse();
+  }
+
+  private SerializedResponseCache cache(DataSize maxSize, boolean gzip) {
+    return new SerializedResponseCache(objectMapper, maxSize, maxSize, gzip);
+  }
+}
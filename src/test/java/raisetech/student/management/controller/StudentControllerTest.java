@@ -3,22 +3,33 @@ package raisetech.student.management.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import jakarta.validation.ConstraintViolationException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -27,20 +38,44 @@ import raisetech.student.management.data.Course;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.data.StudentCourseStatus;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.CourseEnrollmentCount;
+import raisetech.student.management.domain.StudentCount;
+import raisetech.student.management.domain.StudentCourseStatusCount;
 import raisetech.student.management.domain.StudentDetail;
 import raisetech.student.management.exception.ResourceConflictException;
 import raisetech.student.management.exception.ResourceNotFoundException;
+import raisetech.student.management.service.DataVersion;
+import raisetech.student.management.service.StudentBulkRegistrationService;
 import raisetech.student.management.service.StudentService;
 
 @WebMvcTest(StudentController.class)
+@Import({DataVersion.class, SerializedResponseCache.class})
 class StudentControllerTest {
 
   @Autowired
   private MockMvc mockMvc;
 
+  @Autowired
+  private DataVersion dataVersion;
+
+  @Autowired
+  private SerializedResponseCache responseCache;
+
+  @BeforeEach
+  void setup() {
+    // キャッシュはテスト間で共有されるため、テストごとに削除する
+    responseCache.clear();
+    // 一覧検索の版数はデータの版数と同じとする（読み取りモデルの反映が遅れる場合は個別のテストで指定する）
+    when(service.searchStudentDetailsVersion()).thenAnswer(invocation -> dataVersion.current());
+  }
+
   @MockBean
   private StudentService service;
 
+  @MockBean
+  private StudentBulkRegistrationService bulkRegistrationService;
+
   @Test
   void 受講生一覧検索ができること() throws Exception {
     mockMvc.perform(MockMvcRequestBuilders.get("/students"))
@@ -49,6 +84,96 @@ class StudentControllerTest {
     verify(service, times(1)).searchStudentDetails();
   }
 
+  @Test
+  void 受講生一覧検索でデータの版数に対応するETagが返却されること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", dataVersion.etag()));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "/students",
+      "/students/1",
+      "/students/inProgress",
+      "/students/preEnrollment",
+      "/students/byStatus?statuses=受講中",
+      "/students/count",
+      "/students/count/byStatus",
+      "/students/count/byCourse"
+  })
+  void 受講生一覧検索でIfNoneMatchがETagと一致する場合は検索せずに304が返却されること(String url) throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get(url).header("If-None-Match", dataVersion.etag()))
+        .andExpect(status().isNotModified());
+
+    verify(service, never()).searchStudentDetails();
+    verify(service, never()).searchStudentDetailById(anyInt());
+    verify(service, never()).searchStudentDetailsInProgress();
+    verify(service, never()).searchStudentDetailsPreEnrollment();
+    verify(service, never()).searchStudentDetailsByStatuses(any());
+    verify(service, never()).countStudents();
+    verify(service, never()).countStudentCoursesByStatus();
+    verify(service, never()).countStudentCoursesByCourse();
+  }
+
+  @Test
+  void 受講生一覧検索でデータが更新された後は以前のETagを指定しても検索されること() throws Exception {
+    String etag = dataVersion.etag();
+    dataVersion.incrementAfterCommit();
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", dataVersion.etag()));
+
+    verify(service, times(1)).searchStudentDetails();
+  }
+
+  @Test
+  void 受講生一覧検索で読み取りモデルへの反映が遅れている場合は反映済みの版数のETagが返却されること() throws Exception {
+    long version = dataVersion.current();
+    dataVersion.incrementAfterCommit();
+    when(service.searchStudentDetailsVersion()).thenReturn(version);
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", dataVersion.etag(version)));
+  }
+
+  @Test
+  void 受講生一覧検索でデータが更新されるまではシリアライズした結果が再利用されること() throws Exception {
+    StudentDetail studentDetail = new StudentDetail(
+        new Student(1, "name", "kanaName", null, "aaa@example.com", null, 20, null, null, false), List.of());
+    when(service.searchStudentDetails()).thenReturn(List.of(studentDetail));
+
+    for (int i = 0; i < 2; i++) {
+      mockMvc.perform(MockMvcRequestBuilders.get("/students"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[0].student.name").value("name"));
+    }
+    verify(service, times(1)).searchStudentDetails();
+
+    dataVersion.incrementAfterCommit();
+    mockMvc.perform(MockMvcRequestBuilders.get("/students"))
+        .andExpect(status().isOk());
+    verify(service, times(2)).searchStudentDetails();
+  }
+
+  @Test
+  void 申し込み状況を指定した受講生一覧検索で申し込み状況の組み合わせごとに結果が保持されること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/byStatus").param("statuses", "受講中", "完了"))
+        .andExpect(status().isOk());
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/byStatus").param("statuses", "完了", "受講中"))
+        .andExpect(status().isOk());
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/byStatus").param("statuses", "完了"))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).searchStudentDetailsByStatuses(
+        List.of(StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.COMPLETED));
+    verify(service, never()).searchStudentDetailsByStatuses(
+        List.of(StudentCourseStatusType.COMPLETED, StudentCourseStatusType.IN_PROGRESS));
+    verify(service, times(1)).searchStudentDetailsByStatuses(List.of(StudentCourseStatusType.COMPLETED));
+  }
+
   @Test
   void 受講生ID検索ができること() throws Exception {
     int id = 1;
@@ -58,6 +183,78 @@ class StudentControllerTest {
     verify(service, times(1)).searchStudentDetailById(id);
   }
 
+  @Test
+  void 受講生IDを複数指定して受講生一括検索ができること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students").param("ids", "3,1,2"))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).searchStudentDetailsByIds(List.of(3, 1, 2));
+    verify(service, never()).searchStudentDetails();
+  }
+
+  @Test
+  void 受講生IDをリクエストボディで複数指定して受講生一括検索ができること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/byIds")
+            .contentType("application/json")
+            .content("[3, 1, 2]"))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).searchStudentDetailsByIds(List.of(3, 1, 2));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "'[]'",
+      "'[1, 0]'",
+      "'[1, null]'"
+  })
+  void 受講生一括検索で受講生IDが不正な場合にConstraintViolationExceptionが発生すること(String requestBody) throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.post("/students/byIds")
+            .contentType("application/json")
+            .content(requestBody))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).searchStudentDetailsByIds(any());
+  }
+
+  @Test
+  void 受講生数検索ができること() throws Exception {
+    when(service.countStudents()).thenReturn(new StudentCount(4, 1));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/count"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", dataVersion.etag()))
+        .andExpect(jsonPath("$.students").value(4))
+        .andExpect(jsonPath("$.deletedStudents").value(1));
+
+    verify(service, never()).searchStudentDetailById(anyInt());
+  }
+
+  @Test
+  void 申し込み状況ごとの受講生コース数検索ができること_申し込み状況はラベルで返却されること() throws Exception {
+    when(service.countStudentCoursesByStatus()).thenReturn(List.of(
+        new StudentCourseStatusCount(StudentCourseStatusType.IN_PROGRESS, 4, 3)));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/count/byStatus"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].status").value("受講中"))
+        .andExpect(jsonPath("$[0].enrollments").value(4))
+        .andExpect(jsonPath("$[0].students").value(3));
+  }
+
+  @Test
+  void コースごとの受講生コース数検索ができること() throws Exception {
+    when(service.countStudentCoursesByCourse()).thenReturn(List.of(
+        new CourseEnrollmentCount(1, "Javaコース", 2, 2)));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/count/byCourse"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].courseId").value(1))
+        .andExpect(jsonPath("$[0].courseName").value("Javaコース"))
+        .andExpect(jsonPath("$[0].enrollments").value(2))
+        .andExpect(jsonPath("$[0].students").value(2));
+  }
+
   @Test
   void 受講生ID検索でパスのIDが不正な場合にConstraintViolationExceptionが発生すること() throws Exception {
     int id = 0;
@@ -101,6 +298,33 @@ class StudentControllerTest {
     verify(service, times(1)).searchCourseNameById(any(int.class));
   }
 
+  @Test
+  void 受講生一括登録ができること() throws Exception {
+    // RequestBodyを作成
+    String requestBody = """
+        [
+            {"name": "name1", "kanaName": "kanaName1", "email": "aaa@example.com", "age": 1, "courseId": 1},
+            {"name": "name2", "kanaName": "kanaName2", "email": "bbb@example.com", "age": 2, "courseId": 2}
+        ]
+        """;
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/registerStudents")
+        .contentType("application/json")
+        .content(requestBody))
+        .andExpect(status().isOk());
+
+    verify(bulkRegistrationService, times(1)).registerStudents(argThat(list -> list.size() == 2));
+  }
+
+  @Test
+  void 受講生一括登録で一覧が空の場合にConstraintViolationExceptionが発生すること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.post("/registerStudents")
+        .contentType("application/json")
+        .content("[]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException));
+  }
+
   @ParameterizedTest
   @CsvSource({
       // フィールドに不足がある場合（@Blank対象）
@@ -412,13 +636,13 @@ class StudentControllerTest {
   @Test
   void 受講生削除ができること() throws Exception {
     int id = 1;
-    // モックの振る舞いを設定
-    when(service.searchStudentById(id)).thenReturn(new Student(1, null, null, null, null, null, 1, null, null, false));
     mockMvc.perform(MockMvcRequestBuilders.patch("/deleteStudent/" + id))
-        .andExpect(status().isOk());
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(id))
+        .andExpect(jsonPath("$.deleted").value(true));
 
     verify(service, times(1)).deleteStudent(id);
-    verify(service, times(1)).searchStudentById(id);
+    verify(service, never()).searchStudentById(id);
   }
 
   @Test
@@ -445,7 +669,7 @@ class StudentControllerTest {
     when(service.searchStudentCourseById(studentCourseId))
         .thenReturn(new StudentCourse(1, 1, null, null, 1));
     when(service.searchStudentCourseStatusByStudentCourseId(studentCourseId))
-        .thenReturn(new StudentCourseStatus(1, 1, "完了"));
+        .thenReturn(new StudentCourseStatus(1, 1, StudentCourseStatusType.COMPLETED));
     mockMvc.perform(MockMvcRequestBuilders.patch("/updateStudentCourseStatusInProgress/" + studentCourseId))
         .andExpect(status().isOk());
 
@@ -469,9 +693,11 @@ class StudentControllerTest {
   void 受講生コース申し込み状況を完了に更新ができること() throws Exception {
     int studentCourseId = 1;
     when(service.searchStudentCourseStatusByStudentCourseId(studentCourseId))
-        .thenReturn(new StudentCourseStatus(1, 1, "完了"));
+        .thenReturn(new StudentCourseStatus(1, 1, StudentCourseStatusType.COMPLETED));
     mockMvc.perform(MockMvcRequestBuilders.patch("/updateStudentCourseStatusCompleted/" + studentCourseId))
-        .andExpect(status().isOk());
+        .andExpect(status().isOk())
+        // 申し込み状況はコードではなく表示名で出力されること
+        .andExpect(jsonPath("$.status").value("完了"));
 
     verify(service, times(1)).updateStudentCourseStatusCompleted(studentCourseId);
     verify(service, times(1)).searchStudentCourseStatusByStudentCourseId(studentCourseId);
@@ -487,6 +713,37 @@ class StudentControllerTest {
             result.getResolvedException() instanceof ConstraintViolationException));
   }
 
+  @Test
+  void 受講生コース申し込み状況の一括更新ができること() throws Exception {
+    String requestBody = """
+        {"studentCourseIds": [1, 2, 3], "status": "受講中"}
+        """;
+
+    mockMvc.perform(MockMvcRequestBuilders.patch("/updateStudentCourseStatuses")
+        .contentType("application/json")
+        .content(requestBody))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).updateStudentCourseStatuses(List.of(1, 2, 3), StudentCourseStatusType.IN_PROGRESS);
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+      // 受講生コースIDが空の場合
+      "{\"studentCourseIds\": [], \"status\": \"受講中\"}",
+      // 受講生コースIDが不正な場合
+      "{\"studentCourseIds\": [0], \"status\": \"完了\"}",
+      // 更新後の申し込み状況が不正な場合
+      "{\"studentCourseIds\": [1], \"status\": \"仮申し込み\"}"
+  })
+  void 受講生コース申し込み状況の一括更新で不正な値がある場合にMethodArgumentNotValidExceptionが発生すること(String requestBody) throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.patch("/updateStudentCourseStatuses")
+        .contentType("application/json")
+        .content(requestBody))
+        .andExpect(status().isBadRequest())
+        .andExpect(result -> assertTrue(result.getResolvedException() instanceof MethodArgumentNotValidException));
+  }
+
   @Test
   void 受講中の受講生一覧検索ができること() throws Exception {
     mockMvc.perform(MockMvcRequestBuilders.get("/students/inProgress"))
@@ -500,4 +757,113 @@ class StudentControllerTest {
         .andExpect(status().isOk());
     verify(service, times(1)).searchStudentDetailsPreEnrollment();
   }
+
+  @Test
+  void 申し込み状況を指定した受講生一覧検索ができること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/byStatus")
+            .param("statuses", "受講中", "完了"))
+        .andExpect(status().isOk());
+    verify(service, times(1)).searchStudentDetailsByStatuses(
+        List.of(StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.COMPLETED));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"受講ちゅう", "'受講中,未定'"})
+  void 申し込み状況を指定した受講生一覧検索で該当しない申し込み状況を指定した場合にConstraintViolationExceptionが発生すること(String statuses) throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/byStatus")
+            .param("statuses", statuses.split(",")))
+        .andExpect(status().isBadRequest())
+        .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException));
+    verify(service, never()).searchStudentDetailsByStatuses(any());
+  }
+
+  @Test
+  void 受講生一覧のページング検索ができること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("limit", "50")
+            .param("after", "100"))
+        .andExpect(status().isOk());
+    verify(service, times(1)).searchStudentDetailPage(100, 50);
+    verify(service, times(0)).searchStudentDetails();
+  }
+
+  @Test
+  void 受講生一覧のページング検索でafterを省略した場合は最初のページが検索されること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("limit", "50"))
+        .andExpect(status().isOk());
+    verify(service, times(1)).searchStudentDetailPage(0, 50);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"0, 0", "1001, 0", "10, -1"})
+  void 受講生一覧のページング検索でlimitまたはafterが不正な場合にConstraintViolationExceptionが発生すること(String limit, String after) throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students")
+            .param("limit", limit)
+            .param("after", after))
+        .andExpect(status().isBadRequest())
+        .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException));
+  }
+
+  @Test
+  void 受講中の受講生一覧のページング検索ができること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/inProgress")
+            .param("limit", "20")
+            .param("after", "5"))
+        .andExpect(status().isOk());
+    verify(service, times(1)).searchStudentDetailPageInProgress(5, 20);
+  }
+
+  @Test
+  void 仮申し込みの受講生一覧のページング検索ができること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/preEnrollment")
+            .param("limit", "20"))
+        .andExpect(status().isOk());
+    verify(service, times(1)).searchStudentDetailPagePreEnrollment(0, 20);
+  }
+
+  @Test
+  void 受講生一覧の一括出力でJSON配列形式で出力されること() throws Exception {
+    mockExportStudentDetails();
+    MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/students/export"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    assertThat(result.getResponse().getContentType()).startsWith("application/json");
+    assertThat(body).startsWith("[").endsWith("]");
+    assertThat(body).contains("\"name\":\"AAA\"", "\"name\":\"BBB\"");
+  }
+
+  @Test
+  void 受講生一覧の一括出力でNDJSON形式で1行に1件出力されること() throws Exception {
+    mockExportStudentDetails();
+    MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/students/export")
+            .param("format", "ndjson"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+    assertThat(body.split("\n")).hasSize(2);
+  }
+
+  @Test
+  void 受講生一覧の一括出力で出力形式が不正な場合にConstraintViolationExceptionが発生すること() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/export")
+            .param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException));
+  }
+
+  private void mockExportStudentDetails() {
+    doAnswer(invocation -> {
+      Consumer<StudentDetail> consumer = invocation.getArgument(0);
+      consumer.accept(new StudentDetail(
+          new Student(1, "AAA", "aaa", null, "aaa@example.com", null, 1, null, null, false), List.of()));
+      consumer.accept(new StudentDetail(
+          new Student(2, "BBB", "bbb", null, "bbb@example.com", null, 2, null, null, false), List.of()));
+      return null;
+    }).when(service).exportStudentDetails(any());
+  }
 }
@@ -0,0 +1,190 @@
+package raisetech.student.management.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.student.management.Application;
+
+/**
+ * プラットフォームスレッドと仮想スレッドでリクエストを処理した場合の負荷テスト
+ *
+ * 同時に1,000クライアントから、受講生詳細情報の全件検索（GET /students、遅いリクエスト）と
+ * 受講生IDによる検索（GET /students/{id}、速いリクエスト）を混ぜて送信し、
+ * それぞれのモードのスループットと速いリクエストの応答時間（p50、p99）をログに出力する
+ * 受講生はJdbcTemplateで直接追加するため（データの版数は変わらない）、一覧検索用の読み取りモデルは無効にし、
+ * 一覧のレスポンスのキャッシュにも保持しないようにして、GET /students が毎回検索とシリアライズを行うようにする
+ *
+ * 通常のテストからは除外されており、./gradlew loadTest で実行する
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+  private static final int CLIENTS = 1_000;
+  private static final int REQUESTS_PER_CLIENT = 20;
+  // この回数に1回、遅いリクエストを送信する
+  private static final int SLOW_REQUEST_INTERVAL = 10;
+  // 遅いリクエストの応答を大きくするために追加する受講生数
+  private static final int ADDITIONAL_STUDENTS = 5_000;
+
+  @Test
+  void プラットフォームスレッドと仮想スレッドのスループットと応答時間を比較できること() throws Exception {
+    LoadResult platform = run(false);
+    LoadResult virtual = run(true);
+
+    log.info("{} clients x {} requests (1 in {} is GET /students)", CLIENTS, REQUESTS_PER_CLIENT, SLOW_REQUEST_INTERVAL);
+    log.info("mode      throughput(req/s)  GET /students/{id} p50(ms)  p99(ms)");
+    log.info(platform.format("platform"));
+    log.info(virtual.format("virtual"));
+
+    assertMeasured(platform);
+    assertMeasured(virtual);
+  }
+
+  /**
+   * 全リクエストが成功し、スループットと速いリクエストの応答時間が計測できていること
+   */
+  private static void assertMeasured(LoadResult result) {
+    assertThat(result.failures).isZero();
+    assertThat(result.throughput).isPositive();
+    assertThat(result.p50Millis).isPositive();
+    assertThat(result.p99Millis).isGreaterThanOrEqualTo(result.p50Millis);
+  }
+
+  private LoadResult run(boolean virtualThreads) throws Exception {
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+        .run("--server.port=0",
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--student.read-model.enabled=false",
+            "--student.response-cache.max-entry-size=0B",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level." + VirtualThreadLoadTest.class.getName() + "=INFO")) {
+      insertStudents(context.getBean(JdbcTemplate.class));
+      String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+      return sendRequests(baseUrl);
+    }
+  }
+
+  private void insertStudents(JdbcTemplate jdbcTemplate) {
+    jdbcTemplate.update("""
+        INSERT INTO students (name, kana_name, nickname, email, living_area, age, gender, remark, deleted)
+        SELECT CONCAT('load', X), 'ろーど', NULL, CONCAT('load', X, '@example.com'), NULL, 20, NULL, NULL, 0
+        FROM SYSTEM_RANGE(1, ?)
+        """, ADDITIONAL_STUDENTS);
+    jdbcTemplate.update("""
+        INSERT INTO student_courses (student_id, start_date, end_due_date, course_id)
+        SELECT s.id, DATE '2024-01-01', DATE '2024-04-25', MOD(s.id, 4) + 1
+        FROM students s WHERE s.name LIKE 'load%'
+        """);
+  }
+
+  private LoadResult sendRequests(String baseUrl) throws Exception {
+    HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+    List<Future<ClientResult>> futures = new ArrayList<>(CLIENTS);
+    long start = System.nanoTime();
+    // クライアント側は仮想スレッドで同時に1,000クライアント分のリクエストを送信する
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < CLIENTS; i++) {
+        int client = i;
+        futures.add(clients.submit(() -> sendClientRequests(httpClient, baseUrl, client)));
+      }
+    }
+    long elapsedNanos = System.nanoTime() - start;
+
+    List<Long> fastLatencies = new ArrayList<>();
+    int requests = 0;
+    int failures = 0;
+    for (Future<ClientResult> future : futures) {
+      ClientResult result = future.get();
+      for (long latency : result.fastLatencies) {
+        fastLatencies.add(latency);
+      }
+      requests += REQUESTS_PER_CLIENT;
+      failures += result.failures;
+    }
+    long[] sorted = fastLatencies.stream().mapToLong(Long::longValue).toArray();
+    Arrays.sort(sorted);
+    return new LoadResult(requests * 1_000_000_000.0 / elapsedNanos,
+        percentile(sorted, 0.5), percentile(sorted, 0.99), failures);
+  }
+
+  private ClientResult sendClientRequests(HttpClient httpClient, String baseUrl, int client) {
+    List<Long> fastLatencies = new ArrayList<>();
+    int failures = 0;
+    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+      boolean slow = (client + i) % SLOW_REQUEST_INTERVAL == 0;
+      String path = slow ? "/students" : "/students/" + (1 + (client + i) % 4);
+      HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+          .timeout(Duration.ofMinutes(2))
+          .GET()
+          .build();
+      long start = System.nanoTime();
+      try {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+          failures++;
+        } else if (!slow) {
+          fastLatencies.add(System.nanoTime() - start);
+        }
+      } catch (Exception e) {
+        failures++;
+      }
+    }
+    return new ClientResult(fastLatencies, failures);
+  }
+
+  private static double percentile(long[] sortedNanos, double percentile) {
+    if (sortedNanos.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+    return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+  }
+
+  private static class ClientResult {
+    private final List<Long> fastLatencies;
+    private final int failures;
+
+    private ClientResult(List<Long> fastLatencies, int failures) {
+      this.fastLatencies = fastLatencies;
+      this.failures = failures;
+    }
+  }
+
+  private static class LoadResult {
+    private final double throughput;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final int failures;
+
+    private LoadResult(double throughput, double p50Millis, double p99Millis, int failures) {
+      this.throughput = throughput;
+      this.p50Millis = p50Millis;
+      this.p99Millis = p99Millis;
+      this.failures = failures;
+    }
+
+    private String format(String mode) {
+      return String.format("%-9s %17.1f  %24.1f  %7.1f  (failures=%d)", mode, throughput, p50Millis, p99Millis, failures);
+    }
+  }
+}
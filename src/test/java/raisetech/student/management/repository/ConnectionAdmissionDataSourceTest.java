@@ -0,0 +1,89 @@
+package raisetech.student.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionAdmissionDataSourceTest {
+
+  @Mock
+  private DataSource targetDataSource;
+
+  @Mock
+  private Connection connection;
+
+  private ConnectionAdmissionDataSource sut;
+
+  @BeforeEach
+  void setup() {
+    sut = new ConnectionAdmissionDataSource(targetDataSource, 2, 100);
+  }
+
+  @Test
+  void 接続の取得で許可が使用され接続のcloseで返されること() throws SQLException {
+    // 事前準備
+    Mockito.when(targetDataSource.getConnection()).thenReturn(connection);
+    // 実行
+    Connection actual = sut.getConnection();
+    // 検証
+    assertThat(sut.getAvailablePermits()).isEqualTo(1);
+    actual.close();
+    assertThat(sut.getAvailablePermits()).isEqualTo(2);
+    Mockito.verify(connection, Mockito.times(1)).close();
+  }
+
+  @Test
+  void 接続を複数回closeしても許可は1回だけ返されること() throws SQLException {
+    // 事前準備
+    Mockito.when(targetDataSource.getConnection()).thenReturn(connection);
+    // 実行
+    Connection actual = sut.getConnection();
+    actual.close();
+    actual.close();
+    // 検証
+    assertThat(sut.getAvailablePermits()).isEqualTo(2);
+  }
+
+  @Test
+  void 許可がすべて使用されている場合はタイムアウト後に例外が送出されること() throws SQLException {
+    // 事前準備
+    Mockito.when(targetDataSource.getConnection()).thenReturn(connection);
+    sut.getConnection();
+    sut.getConnection();
+    // 実行と検証
+    assertThatThrownBy(() -> sut.getConnection())
+        .isInstanceOf(SQLTransientConnectionException.class);
+    Mockito.verify(targetDataSource, Mockito.times(2)).getConnection();
+  }
+
+  @Test
+  void 接続の取得に失敗した場合は許可が返されること() throws SQLException {
+    // 事前準備
+    Mockito.when(targetDataSource.getConnection()).thenThrow(new SQLException("error"));
+    // 実行と検証
+    assertThatThrownBy(() -> sut.getConnection()).isInstanceOf(SQLException.class);
+    assertThat(sut.getAvailablePermits()).isEqualTo(2);
+  }
+
+  @Test
+  void closeで包んでいるコネクションプールが閉じられること() throws Exception {
+    // 事前準備
+    DataSource pool = Mockito.mock(DataSource.class, Mockito.withSettings().extraInterfaces(AutoCloseable.class));
+    ConnectionAdmissionDataSource admission = new ConnectionAdmissionDataSource(pool, 2, 100);
+    // 実行
+    admission.close();
+    // 検証
+    Mockito.verify((AutoCloseable) pool, Mockito.times(1)).close();
+  }
+}
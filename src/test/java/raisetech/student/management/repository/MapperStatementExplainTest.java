@@ -0,0 +1,121 @@
+package raisetech.student.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import raisetech.student.management.data.StudentCourseStatusType;
+
+/**
+ * studentRepository.xmlの検索、更新、削除の各文の実行計画（EXPLAIN）を確認し、
+ * 索引を使わずに表全体を走査する文がないことを検証する
+ */
+@MybatisTest
+class MapperStatementExplainTest {
+
+  // 全件の一覧を返すこと、または全件を集計することが目的のため、表全体の走査を許容する文
+  private static final Set<String> FULL_LISTING_STATEMENTS = Set.of(
+      "searchStudentCourses",
+      "streamStudentCourses",
+      "searchCourses",
+      "countStudentCoursesByStatus",
+      "countStudentCoursesByCourse");
+
+  @Autowired
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  void 全件の一覧以外の文は表全体を走査しないこと() throws Exception {
+    Map<String, String> plans = explainStatements();
+
+    assertThat(plans).containsKeys("searchStudentsAfter", "searchStudentDetailsByStatus", "updateStudentCourseStatuses");
+    Map<String, String> fullScans = new LinkedHashMap<>();
+    plans.forEach((id, plan) -> {
+      if (!FULL_LISTING_STATEMENTS.contains(id) && plan.toLowerCase().contains("tablescan")) {
+        fullScans.put(id, plan);
+      }
+    });
+    assertThat(fullScans).as("表全体を走査している文と実行計画").isEmpty();
+  }
+
+  /**
+   * 文のIDと実行計画の組み合わせを返す（INSERT文は対象外）
+   */
+  private Map<String, String> explainStatements() throws Exception {
+    String namespace = StudentRepository.class.getName() + ".";
+    Map<String, String> plans = new LinkedHashMap<>();
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try {
+      for (MappedStatement statement : new ArrayList<>(sqlSessionFactory.getConfiguration().getMappedStatements())) {
+        String id = statement.getId();
+        if (!id.startsWith(namespace) || plans.containsKey(id.substring(namespace.length()))
+            || statement.getSqlCommandType() == SqlCommandType.INSERT) {
+          continue;
+        }
+        Map<String, Object> parameter = sampleParameter();
+        BoundSql boundSql = statement.getBoundSql(parameter);
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+          statement.getConfiguration().newParameterHandler(statement, parameter, boundSql).setParameters(ps);
+          try (ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            plans.put(id.substring(namespace.length()), rs.getString(1));
+          }
+        }
+      }
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+    return plans;
+  }
+
+  /**
+   * 各文のパラメーターに使用する値（プロパティ名をキーとして全ての文に共通で使用する）
+   */
+  private Map<String, Object> sampleParameter() {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("id", 1);
+    parameter.put("studentId", 1);
+    parameter.put("studentCourseId", 1);
+    parameter.put("courseId", 1);
+    parameter.put("studentIds", List.of(1, 2));
+    parameter.put("studentCourseIds", List.of(1, 2));
+    parameter.put("after", 0);
+    parameter.put("limit", 10);
+    parameter.put("status", StudentCourseStatusType.IN_PROGRESS);
+    parameter.put("statuses", List.of(StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.COMPLETED));
+    parameter.put("fromStatus", StudentCourseStatusType.PRE_ENROLLMENT);
+    parameter.put("toStatus", StudentCourseStatusType.IN_PROGRESS);
+    parameter.put("startDate", LocalDate.of(2024, 1, 1));
+    parameter.put("endDueDate", LocalDate.of(2024, 4, 25));
+    parameter.put("name", "name");
+    parameter.put("kanaName", "kanaName");
+    parameter.put("nickname", null);
+    parameter.put("email", "aaa@example.com");
+    parameter.put("livingArea", null);
+    parameter.put("age", 20);
+    parameter.put("gender", null);
+    parameter.put("remark", null);
+    parameter.put("deleted", false);
+    return parameter;
+  }
+}
@@ -0,0 +1,56 @@
+package raisetech.student.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * BATCHモードのSqlSessionは同じトランザクション内で通常のMapperと併用できないため、検証はJdbcTemplateで行う
+ */
+@MybatisTest
+@Import(StudentBatchWriter.class)
+class StudentBatchWriterTest {
+
+  @Autowired
+  private StudentBatchWriter sut;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  void 受講生詳細情報をまとめて登録できること_採番されたIDが設定され申し込み状況も登録されること() {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Student student = new Student(0, "bulk" + i, "ばるく", null, "bulk" + i + "@example.com", null, 20, null, null, false);
+      studentDetails.add(new StudentDetail(student, List.of(StudentCourse.initStudentCourse(0, 2))));
+    }
+
+    sut.insertStudentDetails(studentDetails);
+
+    assertThat(studentDetails).extracting(studentDetail -> studentDetail.getStudent().getId())
+        .doesNotContain(0)
+        .doesNotHaveDuplicates();
+    for (StudentDetail studentDetail : studentDetails) {
+      StudentCourse studentCourse = studentDetail.getStudentCourses().get(0);
+      assertThat(studentCourse.getId()).isNotZero();
+      assertThat(studentCourse.getStudentId()).isEqualTo(studentDetail.getStudent().getId());
+      assertThat(jdbcTemplate.queryForObject(
+          "SELECT status FROM student_course_statuses WHERE student_course_id = ?", Integer.class, studentCourse.getId()))
+          .isEqualTo(StudentCourseStatusType.PRE_ENROLLMENT.getCode());
+    }
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students WHERE name LIKE 'bulk%'", Integer.class))
+        .isEqualTo(3);
+  }
+}
@@ -1,19 +1,28 @@
 package raisetech.student.management.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import raisetech.student.management.data.Course;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.data.StudentCourseStatus;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.CourseEnrollmentCount;
 import raisetech.student.management.domain.CourseForJson;
+import raisetech.student.management.domain.StudentCourseStatusCount;
+import raisetech.student.management.domain.StudentDetail;
 import raisetech.student.management.domain.StudentDetailForJson;
+import raisetech.student.management.service.converter.StudentConverter;
 
 @MybatisTest
 class StudentRepositoryTest {
@@ -21,6 +30,9 @@ class StudentRepositoryTest {
   @Autowired
   private StudentRepository sut;
 
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
   @Test
   void 受講生情報の全件検索が実施できること_deletedがfalseの受講生情報が適切であること() {
     List<Student> actual = sut.searchStudents();
@@ -39,18 +51,109 @@ class StudentRepositoryTest {
   void 受講生のコース情報の全件検索が実施できること_情報が適切であること() {
     List<StudentCourse> actual = sut.searchStudentCourses();
 
+    // コース名も結合して取得されること
     List<StudentCourse> expected = List.of(
-        new StudentCourse(1, 1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 1),
-        new StudentCourse(2, 1, LocalDate.of(2024, 4,26), LocalDate.of(2024,8,25), 2),
-        new StudentCourse(3, 2, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 3),
-        new StudentCourse(4, 3, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 1),
-        new StudentCourse(5, 4, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 2),
-        new StudentCourse(6, 5, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 4)
+        studentCourseWithCourseName(1, 1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 1, "Javaコース"),
+        studentCourseWithCourseName(2, 1, LocalDate.of(2024, 4,26), LocalDate.of(2024,8,25), 2, "PHPコース"),
+        studentCourseWithCourseName(3, 2, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 3, "Rubyコース"),
+        studentCourseWithCourseName(4, 3, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 1, "Javaコース"),
+        studentCourseWithCourseName(5, 4, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 2, "PHPコース"),
+        studentCourseWithCourseName(6, 5, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 4, "Pythonコース"),
+        studentCourseWithCourseName(7, 5, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 3, "Rubyコース")
     );
 
     assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
   }
 
+  @Test
+  void 受講生詳細情報の全件検索が実施できること_論理削除されていない受講生がコース名と申し込み状況付きで取得できること() {
+    List<StudentDetail> actual = sut.searchStudentDetails();
+
+    // 論理削除されていない受講生が受講生IDの昇順で取得できること
+    assertThat(actual).extracting(studentDetail -> studentDetail.getStudent().getId())
+        .containsExactly(1, 2, 3, 4);
+    // 受講生情報が適切であること
+    assertThat(actual.get(0).getStudent()).isEqualTo(
+        new Student(1, "山田太郎", "やまだたろう", "たろう", "taro.yamada@example.com", "東京都新宿区", 20, "男性", "", false));
+    // コース情報がコース名と申し込み状況付きで取得できること
+    StudentCourse expected1 = studentCourseWithCourseName(1, 1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 1, "Javaコース");
+    expected1.setStatus(StudentCourseStatusType.IN_PROGRESS);
+    StudentCourse expected2 = studentCourseWithCourseName(2, 1, LocalDate.of(2024, 4,26), LocalDate.of(2024,8,25), 2, "PHPコース");
+    expected2.setStatus(StudentCourseStatusType.IN_PROGRESS);
+    assertThat(actual.get(0).getStudentCourses()).containsExactly(expected1, expected2);
+    assertThat(actual.get(3).getStudentCourses()).extracting(StudentCourse::getStatus).containsExactly(StudentCourseStatusType.PRE_ENROLLMENT);
+  }
+
+  @Test
+  void 受講生詳細情報の全件検索が実施できること_コース情報のない受講生はコース情報が空で取得できること() {
+    StudentDetailForJson studentDetailForJson = new StudentDetailForJson(
+        "テスト太郎", "テストタロウ", "テスト", "test@example.com",
+        "テスト県テスト市", 20, "男性", null, 1
+    );
+    Student student = new Student(studentDetailForJson);
+    sut.insertStudent(student);
+
+    List<StudentDetail> actual = sut.searchStudentDetails();
+
+    StudentDetail inserted = actual.stream()
+        .filter(studentDetail -> studentDetail.getStudent().getId() == student.getId())
+        .findFirst()
+        .orElseThrow();
+    assertThat(inserted.getStudentCourses()).isEmpty();
+  }
+
+  @Test
+  void 受講生詳細情報の全件検索が実施できること_個別に検索してコンバーターで結合した結果と一致すること() {
+    List<StudentDetail> expected = new StudentConverter()
+        .convertStudentDetails(sut.searchStudents(), sut.searchStudentCourses());
+
+    List<StudentDetail> actual = sut.searchStudentDetails();
+
+    // 受講生の順序と各受講生のコース情報（申し込み状況を除く）が一致すること
+    assertThat(actual).hasSameSizeAs(expected);
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(actual.get(i).getStudent()).isEqualTo(expected.get(i).getStudent());
+      assertThat(actual.get(i).getStudentCourses())
+          .usingRecursiveFieldByFieldElementComparatorIgnoringFields("status")
+          .containsExactlyInAnyOrderElementsOf(expected.get(i).getStudentCourses());
+    }
+  }
+
+  @Test
+  void 受講生IDを指定して受講生詳細情報を検索が実施できること_指定したIDの受講生詳細情報が取得できること() {
+    Optional<StudentDetail> actual = sut.searchStudentDetailById(5);
+
+    // 論理削除されている受講生も取得できること
+    assertThat(actual).isPresent();
+    assertThat(actual.get().getStudent().isDeleted()).isTrue();
+    assertThat(actual.get().getStudentCourses()).extracting(StudentCourse::getId).containsExactly(6, 7);
+    assertThat(actual.get().getStudentCourses()).extracting(StudentCourse::getCourseName)
+        .containsExactly("Pythonコース", "Rubyコース");
+  }
+
+  @Test
+  void 受講生IDを指定して受講生詳細情報を検索が実施できること_存在しないIDの場合は空が返されること() {
+    Optional<StudentDetail> actual = sut.searchStudentDetailById(999);
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  void 受講生IDを複数指定して受講生詳細情報を検索が実施できること_指定した受講生の詳細情報が受講生IDの昇順で取得できること() {
+    List<StudentDetail> actual = sut.searchStudentDetailsByIds(List.of(5, 1, 999));
+
+    // 存在しない受講生IDは含まず、論理削除されている受講生も取得できること
+    assertThat(actual).extracting(studentDetail -> studentDetail.getStudent().getId()).containsExactly(1, 5);
+    assertThat(actual.get(0).getStudentCourses()).extracting(StudentCourse::getId).containsExactly(1, 2);
+    assertThat(actual.get(1).getStudent().isDeleted()).isTrue();
+    assertThat(actual.get(1).getStudentCourses()).extracting(StudentCourse::getId).containsExactly(6, 7);
+  }
+
+  @Test
+  void 受講生コースIDを複数指定して受講生IDを検索が実施できること_重複なく取得できること() {
+    List<Integer> actual = sut.searchStudentIdsByStudentCourseIds(List.of(1, 2, 4, 999));
+    assertThat(actual).containsExactlyInAnyOrder(1, 3);
+  }
+
   @Test
   void 受講生IDを指定して受講生情報を検索が実施できること_指定したIDの受講生情報が取得できること() {
     // IDが1の受講生の情報を取得
@@ -65,9 +168,10 @@ class StudentRepositoryTest {
   @Test
   void 受講生IDを指定して受講生のコース情報を検索が実施できること_指定したIDの受講生のコース情報が取得できること() {
     List<StudentCourse> actual = sut.searchStudentCoursesByStudentId(1);
+    // コース名も結合して取得されること
     List<StudentCourse> expected = List.of(
-        new StudentCourse(1, 1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 1),
-        new StudentCourse(2, 1, LocalDate.of(2024, 4,26), LocalDate.of(2024,8,25), 2)
+        studentCourseWithCourseName(1, 1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 25), 1, "Javaコース"),
+        studentCourseWithCourseName(2, 1, LocalDate.of(2024, 4,26), LocalDate.of(2024,8,25), 2, "PHPコース")
     );
     assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
   }
@@ -154,57 +258,94 @@ class StudentRepositoryTest {
     assertThat(actual.isDeleted()).isTrue();
   }
 
-  @Test
-  void 受講生コース情報の申し込み状況の全件検索ができること_情報が適切であること() {
-    List<StudentCourseStatus> actual = sut.searchStudentCourseStatuses();
-    List<StudentCourseStatus> expected = List.of(
-        new StudentCourseStatus(1, 1, "受講中"),
-        new StudentCourseStatus(2, 2, "受講中"),
-        new StudentCourseStatus(3, 3, "受講中"),
-        new StudentCourseStatus(4, 4, "受講中"),
-        new StudentCourseStatus(5, 5, "仮申し込み"),
-        new StudentCourseStatus(6, 6, "完了")
-    );
-    assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
-  }
-
   @Test
   void 受講生コース情報の申し込み状況のIDを指定して検索ができること_指定したIDの情報が取得できること() {
     Optional<StudentCourseStatus> actual = sut.searchStudentCourseStatusById(1);
-    StudentCourseStatus expected = new StudentCourseStatus(1, 1, "受講中");
+    StudentCourseStatus expected = new StudentCourseStatus(1, 1, StudentCourseStatusType.IN_PROGRESS);
     assertThat(actual).isEqualTo(Optional.of(expected));
   }
 
   @Test
   void 受講生コース情報の申し込み状況を受講生コースIDを指定して検索ができること_指定したIDの情報が取得できること() {
     Optional<StudentCourseStatus> actual = sut.searchStudentCourseStatusByStudentCourseId(1);
-    StudentCourseStatus expected = new StudentCourseStatus(1, 1, "受講中");
+    StudentCourseStatus expected = new StudentCourseStatus(1, 1, StudentCourseStatusType.IN_PROGRESS);
     assertThat(actual).isEqualTo(Optional.of(expected));
   }
 
   @Test
-  void 受講生コース情報の申し込み状況が新規登録できること_登録前後で件数が1件増えていること() {
+  void 受講生コース情報の申し込み状況が新規登録できること_登録した受講生コースIDで検索できること() {
     StudentCourseStatus studentCourseStatus = new StudentCourseStatus(7);
-    int countPresentStudentCourseStatuses = sut.searchStudentCourseStatuses().size();
+    assertThat(sut.searchStudentCourseStatusByStudentCourseId(7)).isEmpty();
     sut.insertStudentCourseStatus(studentCourseStatus);
-    List<StudentCourseStatus> actual = sut.searchStudentCourseStatuses();
-    assertThat(actual.size()).isEqualTo(countPresentStudentCourseStatuses + 1);
+    Optional<StudentCourseStatus> actual = sut.searchStudentCourseStatusByStudentCourseId(7);
+    assertThat(actual).isPresent();
+    assertThat(actual.get().getStatus()).isEqualTo(StudentCourseStatusType.PRE_ENROLLMENT);
   }
 
   @Test
   void 受講生コース情報の申し込み状況を受講中に更新できること_更新前後で状況が変わっていること() {
-    sut.updateStudentCourseStatusInProgress(5);
+    assertThat(sut.updateStudentCourseStatusInProgress(5)).isEqualTo(1);
     Optional<StudentCourseStatus> actualOptional = sut.searchStudentCourseStatusById(5);
     StudentCourseStatus actual = actualOptional.get();
-    assertThat(actual.getStatus()).isEqualTo("受講中");
+    assertThat(actual.getStatus()).isEqualTo(StudentCourseStatusType.IN_PROGRESS);
   }
 
   @Test
   void 受講生コース情報の申し込み状況を完了に更新できること_更新前後で状況が変わっていること() {
-    sut.updateStudentCourseStatusCompleted(4);
+    assertThat(sut.updateStudentCourseStatusCompleted(4)).isEqualTo(1);
     Optional<StudentCourseStatus> actualOptional = sut.searchStudentCourseStatusById(4);
     StudentCourseStatus actual = actualOptional.get();
-    assertThat(actual.getStatus()).isEqualTo("完了");
+    assertThat(actual.getStatus()).isEqualTo(StudentCourseStatusType.COMPLETED);
+  }
+
+  @Test
+  void 受講生コースIDを複数指定して申し込み状況を検索できること_存在するものだけ取得できること() {
+    List<StudentCourseStatus> actual = sut.searchStudentCourseStatusesByStudentCourseIdsForUpdate(List.of(1, 5, 99));
+    assertThat(actual).extracting(StudentCourseStatus::getStudentCourseId, StudentCourseStatus::getStatus)
+        .containsExactlyInAnyOrder(tuple(1, StudentCourseStatusType.IN_PROGRESS), tuple(5, StudentCourseStatusType.PRE_ENROLLMENT));
+  }
+
+  @Test
+  void 受講生コースIDを複数指定して申し込み状況をまとめて更新できること_更新前の申し込み状況が一致するものだけ更新されること() {
+    int actual = sut.updateStudentCourseStatuses(List.of(1, 5), StudentCourseStatusType.PRE_ENROLLMENT, StudentCourseStatusType.IN_PROGRESS);
+    assertThat(actual).isEqualTo(1);
+    assertThat(sut.searchStudentCourseStatusByStudentCourseId(5).get().getStatus()).isEqualTo(StudentCourseStatusType.IN_PROGRESS);
+    assertThat(sut.searchStudentCourseStatusByStudentCourseId(1).get().getStatus()).isEqualTo(StudentCourseStatusType.IN_PROGRESS);
+  }
+
+  @Test
+  void 受講生コースIDを複数指定して受講日をまとめて更新できること_指定したものだけ更新されること() {
+    LocalDate startDate = LocalDate.of(2024, 10, 1);
+    LocalDate endDueDate = startDate.plusWeeks(16);
+    int actual = sut.updateStudentCourseDates(List.of(4, 5), startDate, endDueDate);
+    assertThat(actual).isEqualTo(2);
+    assertThat(sut.searchStudentCourseById(5).get().getStartDate()).isEqualTo(startDate);
+    assertThat(sut.searchStudentCourseById(4).get().getEndDueDate()).isEqualTo(endDueDate);
+    assertThat(sut.searchStudentCourseById(1).get().getStartDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+  }
+
+  @Test
+  void 受講生コース情報の申し込み状況を受講中に更新できること_仮申し込みでない場合は更新されないこと() {
+    int actual = sut.updateStudentCourseStatusInProgress(1);
+    assertThat(actual).isEqualTo(0);
+    assertThat(sut.searchStudentCourseStatusByStudentCourseId(1).get().getStatus()).isEqualTo(StudentCourseStatusType.IN_PROGRESS);
+  }
+
+  @Test
+  void 受講生コース情報の申し込み状況を完了に更新できること_受講中でない場合は更新されないこと() {
+    int actual = sut.updateStudentCourseStatusCompleted(5);
+    assertThat(actual).isEqualTo(0);
+    assertThat(sut.searchStudentCourseStatusByStudentCourseId(5).get().getStatus()).isEqualTo(StudentCourseStatusType.PRE_ENROLLMENT);
+  }
+
+  @Test
+  void 受講生コース情報の申し込み状況を検索できること_該当しないコードの場合は申し込み状況がnullで取得されること() {
+    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(7);
+    sut.insertStudentCourseStatus(studentCourseStatus);
+    jdbcTemplate.update("UPDATE student_course_statuses SET status = 0 WHERE student_course_id = 7");
+
+    StudentCourseStatus actual = sut.searchStudentCourseStatusByStudentCourseId(7).get();
+    assertThat(actual.getStatus()).isNull();
   }
 
   @Test
@@ -237,24 +378,126 @@ class StudentRepositoryTest {
         .isEqualTo(original);
   }
 
+  private StudentCourse studentCourseWithCourseName(int id, int studentId, LocalDate startDate,
+      LocalDate endDueDate, int courseId, String courseName) {
+    StudentCourse studentCourse = new StudentCourse(id, studentId, startDate, endDueDate, courseId);
+    studentCourse.setCourseName(courseName);
+    return studentCourse;
+  }
+
   @Test
-  void 仮申し込みの受講生コース情報の申し込み状況を全件検索ができること_情報が適切であること() {
-    List<StudentCourseStatus> actual = sut.searchStudentCourseStatusesPreEnrollment();
-    List<StudentCourseStatus> expected = List.of(
-        new StudentCourseStatus(5, 5, "仮申し込み")
-    );
-    assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+  void 受講生IDより後の受講生情報を指定件数検索できること_受講生IDの昇順で取得できること() {
+    List<Student> actual = sut.searchStudentsAfter(1, 2, null);
+    assertThat(actual).extracting(Student::getId).containsExactly(2, 3);
   }
 
   @Test
-  void 受講中の受講生コース情報の申し込み状況を全件検索ができること_情報が適切であること() {
-    List<StudentCourseStatus> actual = sut.searchStudentCourseStatusesInProgress();
-    List<StudentCourseStatus> expected = List.of(
-        new StudentCourseStatus(1, 1, "受講中"),
-        new StudentCourseStatus(2, 2, "受講中"),
-        new StudentCourseStatus(3, 3, "受講中"),
-        new StudentCourseStatus(4, 4, "受講中")
-    );
-    assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+  void 受講生IDより後の受講生情報を指定件数検索できること_論理削除されている受講生は除外されること() {
+    List<Student> actual = sut.searchStudentsAfter(3, 10, null);
+    assertThat(actual).extracting(Student::getId).containsExactly(4);
+  }
+
+  @Test
+  void 受講生IDより後の受講生情報を申し込み状況を指定して検索できること_該当するコースを持つ受講生のみ取得できること() {
+    List<Student> actual = sut.searchStudentsAfter(0, 10, StudentCourseStatusType.PRE_ENROLLMENT);
+    assertThat(actual).extracting(Student::getId).containsExactly(4);
+  }
+
+  @Test
+  void 受講生IDを複数指定して受講生情報を検索できること_存在する受講生のみ受講生IDの昇順で取得できること() {
+    List<Student> actual = sut.searchStudentsByIds(List.of(5, 1, 999));
+    // 論理削除されている受講生も取得できること
+    assertThat(actual).extracting(Student::getId).containsExactly(1, 5);
+    assertThat(actual).extracting(Student::isDeleted).containsExactly(false, true);
+  }
+
+  @Test
+  void 受講生IDを複数指定して受講生のコース情報を検索できること_指定した受講生のコース情報のみ取得できること() {
+    List<StudentCourse> actual = sut.searchStudentCoursesByStudentIds(List.of(1, 3), null);
+    assertThat(actual).extracting(StudentCourse::getId).containsExactly(1, 2, 4);
+    assertThat(actual).extracting(StudentCourse::getCourseName).containsExactly("Javaコース", "PHPコース", "Javaコース");
+    assertThat(actual).extracting(StudentCourse::getStatus).containsExactly(StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.IN_PROGRESS);
+  }
+
+  @Test
+  void 受講生IDを複数指定して受講生のコース情報を申し込み状況を指定して検索できること_該当するコース情報のみ取得できること() {
+    List<StudentCourse> actual = sut.searchStudentCoursesByStudentIds(List.of(4, 5), StudentCourseStatusType.COMPLETED);
+    assertThat(actual).extracting(StudentCourse::getId).containsExactly(6);
+  }
+
+  @Test
+  void 受講生情報と受講生のコース情報を逐次読み込みできること_受講生IDの昇順で取得できること() throws Exception {
+    List<Integer> studentIds = new ArrayList<>();
+    try (Cursor<Student> cursor = sut.streamStudents()) {
+      cursor.forEach(student -> studentIds.add(student.getId()));
+    }
+    List<Integer> studentCourseStudentIds = new ArrayList<>();
+    try (Cursor<StudentCourse> cursor = sut.streamStudentCourses()) {
+      cursor.forEach(studentCourse -> studentCourseStudentIds.add(studentCourse.getStudentId()));
+    }
+    assertThat(studentIds).containsExactly(1, 2, 3, 4);
+    assertThat(studentCourseStudentIds).containsExactly(1, 1, 2, 3, 4, 5, 5);
+  }
+
+  @Test
+  void 申し込み状況を指定して受講生詳細情報を検索できること_該当するコースを持つ受講生とそのコースのみ取得できること() {
+    List<StudentDetail> actual = sut.searchStudentDetailsByStatus(StudentCourseStatusType.IN_PROGRESS);
+
+    // 論理削除されている受講生（id=5）や仮申し込みのみの受講生（id=4）は含まれないこと
+    assertThat(actual).extracting(studentDetail -> studentDetail.getStudent().getId())
+        .containsExactly(1, 2, 3);
+    assertThat(actual.get(0).getStudentCourses()).extracting(StudentCourse::getId).containsExactly(1, 2);
+    assertThat(actual).flatExtracting(StudentDetail::getStudentCourses)
+        .extracting(StudentCourse::getStatus)
+        .containsOnly(StudentCourseStatusType.IN_PROGRESS);
+  }
+
+  @Test
+  void 申し込み状況を複数指定して受講生詳細情報を検索できること_いずれかに該当するコースを持つ受講生とそのコースのみ取得できること() {
+    List<StudentDetail> actual = sut.searchStudentDetailsByStatuses(
+        List.of(StudentCourseStatusType.PRE_ENROLLMENT, StudentCourseStatusType.COMPLETED));
+
+    // 完了のコースは論理削除されている受講生（id=5）のもののみのため、仮申し込みの受講生（id=4）のみ取得できること
+    assertThat(actual).extracting(studentDetail -> studentDetail.getStudent().getId()).containsExactly(4);
+    assertThat(actual.get(0).getStudentCourses()).extracting(StudentCourse::getId, StudentCourse::getStatus)
+        .containsExactly(tuple(5, StudentCourseStatusType.PRE_ENROLLMENT));
+  }
+
+  @Test
+  void 申し込み状況を指定して受講生詳細情報を検索できること_論理削除されている受講生のコースは含まれないこと() {
+    List<StudentDetail> actual = sut.searchStudentDetailsByStatus(StudentCourseStatusType.COMPLETED);
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  void 受講生数を検索できること_論理削除されていない受講生と論理削除されている受講生が別々に数えられること() {
+    assertThat(sut.countStudents()).isEqualTo(4);
+    assertThat(sut.countDeletedStudents()).isEqualTo(1);
+  }
+
+  @Test
+  void 申し込み状況ごとに受講生コース数と受講生数を集計できること_論理削除されている受講生のコースは含まれないこと() {
+    List<StudentCourseStatusCount> actual = sut.countStudentCoursesByStatus();
+
+    // 完了の受講生コースは論理削除されている受講生（id=5）のもののみのため含まれないこと
+    assertThat(actual).extracting(StudentCourseStatusCount::getStatus, StudentCourseStatusCount::getEnrollments,
+            StudentCourseStatusCount::getStudents)
+        .containsExactly(
+            tuple(StudentCourseStatusType.PRE_ENROLLMENT, 1L, 1L),
+            tuple(StudentCourseStatusType.IN_PROGRESS, 4L, 3L));
+  }
+
+  @Test
+  void コースごとに受講生コース数と受講生数を集計できること_受講生がいないコースも0件として含まれること() {
+    List<CourseEnrollmentCount> actual = sut.countStudentCoursesByCourse();
+
+    // 論理削除されている受講生（id=5）のコース（Python、Ruby）は数えないこと
+    assertThat(actual).extracting(CourseEnrollmentCount::getCourseId, CourseEnrollmentCount::getCourseName,
+            CourseEnrollmentCount::getEnrollments, CourseEnrollmentCount::getStudents)
+        .containsExactly(
+            tuple(1, "Javaコース", 2L, 2L),
+            tuple(2, "PHPコース", 2L, 2L),
+            tuple(3, "Rubyコース", 1L, 1L),
+            tuple(4, "Pythonコース", 0L, 0L));
   }
 }
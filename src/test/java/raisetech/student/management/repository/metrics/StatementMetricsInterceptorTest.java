@@ -0,0 +1,164 @@
+package raisetech.student.management.repository.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StatementMetricsInterceptorTest {
+
+  private static final String NAMESPACE = "raisetech.student.management.repository.StudentRepository";
+
+  @Mock
+  private Executor executor;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private StatementMetricsInterceptor sut;
+
+  private final Configuration configuration = new Configuration();
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    sut = new StatementMetricsInterceptor(meterRegistry);
+  }
+
+  @Test
+  void 検索_文ごとに処理時間と取得件数が記録されること() throws Throwable {
+    // 事前準備
+    MappedStatement mappedStatement = mappedStatement("searchStudents", SqlCommandType.SELECT);
+    Mockito.doReturn(List.of(1, 2, 3)).when(executor)
+        .query(mappedStatement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    // 実行
+    Object actual = sut.intercept(queryInvocation(mappedStatement));
+    // 検証
+    assertThat(actual).isEqualTo(List.of(1, 2, 3));
+    Timer timer = timer("StudentRepository.searchStudents");
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.getId().getTag("command")).isEqualTo("SELECT");
+    DistributionSummary rows = rows("StudentRepository.searchStudents");
+    assertThat(rows.count()).isEqualTo(1);
+    assertThat(rows.totalAmount()).isEqualTo(3);
+  }
+
+  @Test
+  void 検索_パーセンタイルp50とp99が出力されること() throws Throwable {
+    // 事前準備
+    MappedStatement mappedStatement = mappedStatement("searchStudents", SqlCommandType.SELECT);
+    Mockito.doReturn(List.of()).when(executor)
+        .query(mappedStatement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    // 実行
+    sut.intercept(queryInvocation(mappedStatement));
+    // 検証
+    assertThat(timer("StudentRepository.searchStudents").takeSnapshot().percentileValues())
+        .extracting(percentile -> percentile.percentile())
+        .containsExactly(0.5, 0.99);
+  }
+
+  @Test
+  void 検索_同じ文の呼び出しは同じメーターに記録されること() throws Throwable {
+    // 事前準備
+    MappedStatement mappedStatement = mappedStatement("searchStudents", SqlCommandType.SELECT);
+    Mockito.doReturn(List.of(1)).when(executor)
+        .query(mappedStatement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+    // 実行
+    sut.intercept(queryInvocation(mappedStatement));
+    sut.intercept(queryInvocation(mappedStatement));
+    // 検証
+    assertThat(meterRegistry.find(StatementMetricsInterceptor.DURATION_METRIC_NAME).timers()).hasSize(1);
+    assertThat(timer("StudentRepository.searchStudents").count()).isEqualTo(2);
+    assertThat(rows("StudentRepository.searchStudents").totalAmount()).isEqualTo(2);
+  }
+
+  @Test
+  void 更新_処理時間と更新件数が記録されること() throws Throwable {
+    // 事前準備
+    MappedStatement mappedStatement = mappedStatement("updateStudentCourseStatusInProgress", SqlCommandType.UPDATE);
+    Mockito.when(executor.update(mappedStatement, 1)).thenReturn(1);
+    // 実行
+    sut.intercept(updateInvocation(mappedStatement, 1));
+    // 検証
+    assertThat(timer("StudentRepository.updateStudentCourseStatusInProgress").count()).isEqualTo(1);
+    assertThat(rows("StudentRepository.updateStudentCourseStatusInProgress").totalAmount()).isEqualTo(1);
+  }
+
+  @Test
+  void 更新_BATCHモードでは更新件数が記録されないこと() throws Throwable {
+    // 事前準備
+    MappedStatement mappedStatement = mappedStatement("insertStudent", SqlCommandType.INSERT);
+    Mockito.when(executor.update(mappedStatement, 1)).thenReturn(BatchExecutor.BATCH_UPDATE_RETURN_VALUE);
+    // 実行
+    sut.intercept(updateInvocation(mappedStatement, 1));
+    // 検証
+    assertThat(timer("StudentRepository.insertStudent").count()).isEqualTo(1);
+    assertThat(rows("StudentRepository.insertStudent").count()).isEqualTo(0);
+  }
+
+  @Test
+  void 例外が発生した場合も処理時間が記録され例外がそのまま送出されること() throws Throwable {
+    // 事前準備
+    MappedStatement mappedStatement = mappedStatement("searchStudents", SqlCommandType.SELECT);
+    Mockito.when(executor.query(mappedStatement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER))
+        .thenThrow(new IllegalStateException("error"));
+    // 実行と検証
+    assertThatThrownBy(() -> sut.intercept(queryInvocation(mappedStatement)))
+        .isInstanceOf(InvocationTargetException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(timer("StudentRepository.searchStudents").count()).isEqualTo(1);
+    assertThat(rows("StudentRepository.searchStudents").count()).isEqualTo(0);
+  }
+
+  @Test
+  void 文の名前_パッケージ名が除かれること() {
+    assertThat(StatementMetricsInterceptor.statementNameOf(NAMESPACE + ".searchStudents"))
+        .isEqualTo("StudentRepository.searchStudents");
+    assertThat(StatementMetricsInterceptor.statementNameOf("searchStudents")).isEqualTo("searchStudents");
+  }
+
+  private MappedStatement mappedStatement(String id, SqlCommandType sqlCommandType) {
+    return new MappedStatement.Builder(configuration, NAMESPACE + "." + id,
+        new StaticSqlSource(configuration, "SELECT 1"), sqlCommandType).build();
+  }
+
+  private Invocation queryInvocation(MappedStatement mappedStatement) throws NoSuchMethodException {
+    Method query = Executor.class.getMethod("query",
+        MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class);
+    return new Invocation(executor, query,
+        new Object[] {mappedStatement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER});
+  }
+
+  private Invocation updateInvocation(MappedStatement mappedStatement, Object parameter) throws NoSuchMethodException {
+    Method update = Executor.class.getMethod("update", MappedStatement.class, Object.class);
+    return new Invocation(executor, update, new Object[] {mappedStatement, parameter});
+  }
+
+  private Timer timer(String statement) {
+    return meterRegistry.get(StatementMetricsInterceptor.DURATION_METRIC_NAME).tag("statement", statement).timer();
+  }
+
+  private DistributionSummary rows(String statement) {
+    return meterRegistry.get(StatementMetricsInterceptor.ROWS_METRIC_NAME).tag("statement", statement).summary();
+  }
+}
@@ -0,0 +1,110 @@
+package raisetech.student.management.repository.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * プライマリとレプリカの代わりに2つのインメモリH2データベースを使用して、振り分けを検証する
+ * それぞれのデータベースに自身の役割（primary、replica）を記録した表を作成し、検索結果から振り分け先を判定する
+ */
+class ReadWriteRoutingDataSourceTest {
+
+  private static final String LAG_QUERY = "SELECT lag_seconds FROM replica_lag";
+
+  private final DataSource primary = h2DataSource();
+  private final DataSource replica = h2DataSource();
+  private final JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(replica);
+
+  private ReplicaLagMonitor monitor;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readWriteTransaction;
+  private TransactionTemplate readOnlyTransaction;
+
+  @BeforeEach
+  void setup() {
+    new JdbcTemplate(primary).execute("CREATE TABLE db_role (name VARCHAR(10)); INSERT INTO db_role VALUES ('primary')");
+    replicaJdbcTemplate.execute("CREATE TABLE db_role (name VARCHAR(10)); INSERT INTO db_role VALUES ('replica')");
+    replicaJdbcTemplate.execute("CREATE TABLE replica_lag (lag_seconds INT); INSERT INTO replica_lag VALUES (0)");
+
+    monitor = new ReplicaLagMonitor(replica, LAG_QUERY, 5);
+    DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor));
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    readWriteTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    monitor.close();
+  }
+
+  @Test
+  void 読み取り専用トランザクションはレプリカで実行されること() {
+    assertThat(readOnlyTransaction.execute(status -> currentRole())).isEqualTo("replica");
+  }
+
+  @Test
+  void 読み書きのトランザクションはプライマリで実行されること() {
+    assertThat(readWriteTransaction.execute(status -> currentRole())).isEqualTo("primary");
+  }
+
+  @Test
+  void トランザクション外の実行はプライマリで実行されること() {
+    assertThat(currentRole()).isEqualTo("primary");
+  }
+
+  @Test
+  void レプリカの遅延が上限を超えた場合は読み取り専用トランザクションもプライマリで実行されること() {
+    // 事前準備
+    replicaJdbcTemplate.update("UPDATE replica_lag SET lag_seconds = 10");
+    // 実行
+    monitor.check();
+    // 検証
+    assertThat(monitor.getAsBoolean()).isFalse();
+    assertThat(readOnlyTransaction.execute(status -> currentRole())).isEqualTo("primary");
+  }
+
+  @Test
+  void レプリカの遅延が上限内に戻った場合は再びレプリカで実行されること() {
+    // 事前準備
+    replicaJdbcTemplate.update("UPDATE replica_lag SET lag_seconds = 10");
+    monitor.check();
+    replicaJdbcTemplate.update("UPDATE replica_lag SET lag_seconds = 1");
+    // 実行
+    monitor.check();
+    // 検証
+    assertThat(monitor.getAsBoolean()).isTrue();
+    assertThat(readOnlyTransaction.execute(status -> currentRole())).isEqualTo("replica");
+  }
+
+  @Test
+  void レプリカの遅延を確認できない場合は読み取り専用トランザクションもプライマリで実行されること() {
+    // 事前準備
+    replicaJdbcTemplate.execute("DROP TABLE replica_lag");
+    // 実行
+    monitor.check();
+    // 検証
+    assertThat(readOnlyTransaction.execute(status -> currentRole())).isEqualTo("primary");
+  }
+
+  private String currentRole() {
+    return jdbcTemplate.queryForObject("SELECT name FROM db_role", String.class);
+  }
+
+  private static DataSource h2DataSource() {
+    return new DriverManagerDataSource(
+        "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+  }
+}
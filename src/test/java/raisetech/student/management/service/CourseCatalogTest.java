@@ -0,0 +1,110 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CourseCatalogTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  private CourseCatalog sut;
+  @BeforeEach
+  void setup() {
+    sut = new CourseCatalog(repository, Duration.ZERO);
+  }
+
+  @Test
+  void 読み込み済みのコースはデータベースに問い合わせずに検索できること() {
+    // 事前準備
+    Course course = new Course(1, "Javaコース", 200000);
+    Mockito.when(repository.searchCourses()).thenReturn(List.of(course));
+    sut.refresh();
+    // 実行
+    Optional<Course> actual = sut.findById(1);
+    // 検証
+    assertThat(actual).contains(course);
+    Mockito.verify(repository, Mockito.times(1)).searchCourses();
+    assertThat(sut.getHitCount()).isEqualTo(1);
+    assertThat(sut.getMissCount()).isEqualTo(0);
+  }
+
+  @Test
+  void キャッシュに存在しないコースは読み込み直してから検索されること() {
+    // 事前準備
+    Course course = new Course(2, "PHPコース", 180000);
+    Mockito.when(repository.searchCourses()).thenReturn(List.of(), List.of(course));
+    sut.refresh();
+    // 実行
+    Optional<Course> actual = sut.findById(2);
+    // 検証
+    assertThat(actual).contains(course);
+    Mockito.verify(repository, Mockito.times(2)).searchCourses();
+    assertThat(sut.getHitCount()).isEqualTo(0);
+    assertThat(sut.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 存在しないコースを検索した場合は空が返されること() {
+    // 事前準備
+    Mockito.when(repository.searchCourses()).thenReturn(List.of());
+    // 実行
+    Optional<Course> actual = sut.findById(99);
+    // 検証
+    assertThat(actual).isEmpty();
+    assertThat(sut.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 存在しないコースを繰り返し検索しても一定時間内は読み込み直さないこと() {
+    // 事前準備
+    sut = new CourseCatalog(repository, Duration.ofHours(1));
+    Mockito.when(repository.searchCourses()).thenReturn(List.of());
+    sut.refresh();
+    // 実行
+    for (int i = 0; i < 100; i++) {
+      assertThat(sut.findById(99)).isEmpty();
+    }
+    // 検証
+    Mockito.verify(repository, Mockito.times(1)).searchCourses();
+    assertThat(sut.getRefreshCount()).isEqualTo(1);
+    assertThat(sut.getMissCount()).isEqualTo(100);
+  }
+
+  @Test
+  void 登録したコースがキャッシュに反映されること() {
+    // 事前準備
+    Course course = new Course(5, "Goコース", 220000);
+    // 実行
+    sut.putAfterCommit(course);
+    Optional<Course> actual = sut.findById(5);
+    // 検証
+    assertThat(actual).contains(course);
+    Mockito.verify(repository, Mockito.never()).searchCourses();
+    assertThat(sut.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 登録したコースは読み込み直しても失われないこと() {
+    // 事前準備
+    Course course = new Course(5, "Goコース", 220000);
+    Mockito.when(repository.searchCourses()).thenReturn(List.of(course));
+    // 実行
+    sut.putAfterCommit(course);
+    sut.refresh();
+    // 検証
+    assertThat(sut.findById(5)).contains(course);
+  }
+}
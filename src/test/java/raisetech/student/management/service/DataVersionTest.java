@@ -0,0 +1,57 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class DataVersionTest {
+
+  private final DataVersion sut = new DataVersion();
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void トランザクション外では版数がすぐに更新されETagが変わること() {
+    String before = sut.etag();
+
+    sut.incrementAfterCommit();
+
+    assertThat(sut.current()).isEqualTo(1);
+    assertThat(sut.etag()).isNotEqualTo(before);
+  }
+
+  @Test
+  void トランザクション内ではコミット後に版数が更新されること() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    sut.incrementAfterCommit();
+    assertThat(sut.current()).isEqualTo(0);
+
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    assertThat(sut.current()).isEqualTo(1);
+  }
+
+  @Test
+  void ロールバックされた場合は版数が更新されないこと() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    sut.incrementAfterCommit();
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertThat(sut.current()).isEqualTo(0);
+  }
+
+  @Test
+  void ETagは弱いETagであること() {
+    assertThat(sut.etag()).startsWith("W/\"").endsWith("\"");
+  }
+}
@@ -0,0 +1,150 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private static final int WAITERS = 10;
+
+  private final SingleFlight sut = new SingleFlight();
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() {
+    executor = Executors.newFixedThreadPool(WAITERS + 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void 同時に呼び出された同じキーの処理は1回だけ実行され結果が共有されること() throws Exception {
+    // 事前準備（最初の呼び出しの処理は、後続の呼び出しがすべて待ち始めるまで完了しない）
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger computeCount = new AtomicInteger();
+    Supplier<List<String>> computation = () -> {
+      computeCount.incrementAndGet();
+      started.countDown();
+      await(release);
+      return List.of("result");
+    };
+    // 実行
+    Future<List<String>> leader = executor.submit(() -> sut.execute("key", computation));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    List<Future<List<String>>> waiters = new ArrayList<>();
+    for (int i = 0; i < WAITERS; i++) {
+      waiters.add(executor.submit(() -> sut.execute("key", computation)));
+    }
+    waitUntilCoalesced(WAITERS);
+    release.countDown();
+    // 検証
+    List<String> expected = leader.get(10, TimeUnit.SECONDS);
+    for (Future<List<String>> waiter : waiters) {
+      assertThat(waiter.get(10, TimeUnit.SECONDS)).isSameAs(expected);
+    }
+    assertThat(computeCount.get()).isEqualTo(1);
+    assertThat(sut.getCoalescedCount()).isEqualTo(WAITERS);
+  }
+
+  @Test
+  void 処理の失敗は待っていたすべての呼び出し元に送出され結果は保持されないこと() throws Exception {
+    // 事前準備
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<String> failing = () -> {
+      started.countDown();
+      await(release);
+      throw new IllegalStateException("error");
+    };
+    // 実行
+    Future<String> leader = executor.submit(() -> sut.execute("key", failing));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    Future<String> waiter = executor.submit(() -> sut.execute("key", failing));
+    waitUntilCoalesced(1);
+    release.countDown();
+    // 検証
+    for (Future<String> future : List.of(leader, waiter)) {
+      assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+    }
+    // 失敗した結果は保持されず、次の呼び出しでは改めて処理されること
+    assertThat(sut.execute("key", () -> "retry")).isEqualTo("retry");
+  }
+
+  @Test
+  void 処理の完了後の呼び出しは改めて処理されること() {
+    AtomicInteger computeCount = new AtomicInteger();
+
+    sut.execute("key", computeCount::incrementAndGet);
+    sut.execute("key", computeCount::incrementAndGet);
+
+    assertThat(computeCount.get()).isEqualTo(2);
+    assertThat(sut.getCoalescedCount()).isZero();
+  }
+
+  @Test
+  void 異なるキーの処理は共有されないこと() throws Exception {
+    // 事前準備
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> first = executor.submit(() -> sut.execute(List.of("search", 1L), () -> {
+      started.countDown();
+      await(release);
+      return "version1";
+    }));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    // 実行（処理中のものとキーが異なる呼び出しは待たずに処理される）
+    String second = sut.execute(List.of("search", 2L), () -> "version2");
+    release.countDown();
+    // 検証
+    assertThat(second).isEqualTo("version2");
+    assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("version1");
+    assertThat(sut.getCoalescedCount()).isZero();
+  }
+
+  @Test
+  void 共有した回数がメトリクスとして出力されること() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    sut.bindTo(registry);
+
+    assertThat(registry.get("student.service.single.flight.coalesced").functionCounter().count()).isZero();
+  }
+
+  private void waitUntilCoalesced(long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (sut.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(sut.getCoalescedCount()).isEqualTo(expected);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import raisetech.student.management.data.Course;
+import raisetech.student.management.domain.StudentBulkRegistrationResult;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailForJson;
+import raisetech.student.management.domain.StudentRegistrationError;
+import raisetech.student.management.repository.StudentBatchWriter;
+
+@ExtendWith(MockitoExtension.class)
+class StudentBulkRegistrationServiceTest {
+
+  private static final int CHUNK_SIZE = 2;
+
+  @Mock
+  private StudentBatchWriter batchWriter;
+
+  @Mock
+  private CourseCatalog courseCatalog;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private StudentReadModel readModel;
+
+  private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+  private StudentBulkRegistrationService sut;
+
+  @BeforeEach
+  void setup() {
+    sut = new StudentBulkRegistrationService(batchWriter, courseCatalog, validator, transactionManager, CHUNK_SIZE,
+        new DataVersion(), readModel);
+  }
+
+  @Test
+  void 受講生一括登録_チャンクごとにまとめて登録され全員が登録結果に含まれること() {
+    // 事前準備
+    Mockito.when(courseCatalog.findById(1)).thenReturn(Optional.of(new Course(1, "Javaコース", 200000)));
+    List<StudentDetailForJson> studentDetailsForJson = List.of(
+        studentDetailForJson("AAA", "aaa@example.com", 1),
+        studentDetailForJson("BBB", "bbb@example.com", 1),
+        studentDetailForJson("CCC", "ccc@example.com", 1));
+    // 実行
+    StudentBulkRegistrationResult actual = sut.registerStudents(studentDetailsForJson);
+    // 検証（3件がチャンクサイズ2で2回に分けて登録されること）
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<StudentDetail>> captor = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(batchWriter, Mockito.times(2)).insertStudentDetails(captor.capture());
+    assertThat(captor.getAllValues()).extracting(List::size).containsExactly(2, 1);
+    Mockito.verify(transactionManager, Mockito.times(2)).commit(any());
+
+    assertThat(actual.getErrors()).isEmpty();
+    assertThat(actual.getRegisteredStudentDetails())
+        .extracting(studentDetail -> studentDetail.getStudent().getName())
+        .containsExactly("AAA", "BBB", "CCC");
+    assertThat(actual.getRegisteredStudentDetails())
+        .flatExtracting(StudentDetail::getStudentCourses)
+        .extracting(studentCourse -> studentCourse.getCourseName())
+        .containsOnly("Javaコース");
+  }
+
+  @Test
+  void 受講生一括登録_不正な受講生はエラー内容が返却され他の受講生は登録されること() {
+    // 事前準備
+    Mockito.when(courseCatalog.findById(1)).thenReturn(Optional.of(new Course(1, "Javaコース", 200000)));
+    Mockito.when(courseCatalog.findById(99)).thenReturn(Optional.empty());
+    List<StudentDetailForJson> studentDetailsForJson = List.of(
+        studentDetailForJson("", "aaa", 1),
+        studentDetailForJson("BBB", "bbb@example.com", 99),
+        studentDetailForJson("CCC", "ccc@example.com", 1),
+        studentDetailForJson("DDD", "ddd@example.com", 99));
+    // 実行
+    StudentBulkRegistrationResult actual = sut.registerStudents(studentDetailsForJson);
+    // 検証
+    assertThat(actual.getRegisteredStudentDetails())
+        .extracting(studentDetail -> studentDetail.getStudent().getName())
+        .containsExactly("CCC");
+    assertThat(actual.getErrors()).extracting(StudentRegistrationError::getIndex).containsExactly(0, 1, 3);
+    assertThat(actual.getErrors().get(0).getMessages()).containsOnlyKeys("name", "email");
+    assertThat(actual.getErrors().get(1).getMessages()).containsEntry("courseId", "指定されたIDのコースは存在しません");
+    // 存在しないコースIDはキャッシュの読み込み直しを繰り返さないこと
+    Mockito.verify(courseCatalog, Mockito.times(1)).findById(99);
+  }
+
+  @Test
+  void 受講生一括登録_登録に失敗したチャンクの受講生のみエラーとして返却されること() {
+    // 事前準備
+    Mockito.when(courseCatalog.findById(1)).thenReturn(Optional.of(new Course(1, "Javaコース", 200000)));
+    Mockito.doThrow(new DataIntegrityViolationException("登録エラー"))
+        .doNothing()
+        .when(batchWriter).insertStudentDetails(any());
+    List<StudentDetailForJson> studentDetailsForJson = List.of(
+        studentDetailForJson("AAA", "aaa@example.com", 1),
+        studentDetailForJson("BBB", "bbb@example.com", 1),
+        studentDetailForJson("CCC", "ccc@example.com", 1));
+    // 実行
+    StudentBulkRegistrationResult actual = sut.registerStudents(studentDetailsForJson);
+    // 検証
+    Mockito.verify(transactionManager, Mockito.times(1)).rollback(any());
+    Mockito.verify(transactionManager, Mockito.times(1)).commit(any());
+    assertThat(actual.getErrors()).extracting(StudentRegistrationError::getIndex).containsExactly(0, 1);
+    assertThat(actual.getRegisteredStudentDetails())
+        .extracting(studentDetail -> studentDetail.getStudent().getName())
+        .containsExactly("CCC");
+  }
+
+  private StudentDetailForJson studentDetailForJson(String name, String email, int courseId) {
+    return new StudentDetailForJson(name, "かな", null, email, null, 20, null, null, courseId);
+  }
+}
@@ -0,0 +1,131 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.exception.ResourceConflictException;
+import raisetech.student.management.service.converter.StudentConverter;
+
+/**
+ * 受講生コース申し込み状況の更新を同じ受講生コースに対して同時に実行した場合の検証
+ * 各スレッドが別々のトランザクションでコミットする必要があるため、テストメソッドはトランザクション外で実行し、終了後にデータを戻す
+ */
+@MybatisTest
+@Import({StudentService.class, StudentConverter.class, CourseCatalog.class, DataVersion.class, SingleFlight.class,
+    StudentDetailCache.class, StudentReadModel.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentCourseStatusConcurrencyTest {
+
+  private static final int THREAD_COUNT = 8;
+  private static final int ROUNDS = 20;
+  private static final int STUDENT_COURSE_ID = 5; // テストデータ（R__test_data.sql）で仮申し込みの受講生コース
+
+  @Autowired
+  private StudentService sut;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() {
+    executor = Executors.newFixedThreadPool(THREAD_COUNT);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+    resetStatus(StudentCourseStatusType.PRE_ENROLLMENT);
+    jdbcTemplate.update("UPDATE student_courses SET start_date = '2024-01-01', end_due_date = '2024-04-25' WHERE id = ?",
+        STUDENT_COURSE_ID);
+  }
+
+  @Test
+  void 同じ受講生コースを同時に受講中に更新した場合_成功するのは1件だけで他は競合となること() throws Exception {
+    for (int round = 0; round < ROUNDS; round++) {
+      resetStatus(StudentCourseStatusType.PRE_ENROLLMENT);
+
+      List<Boolean> results = runConcurrently(() -> {
+        sut.updateStudentCourseStatusInProgress(STUDENT_COURSE_ID);
+        return null;
+      });
+
+      assertThat(results).filteredOn(succeeded -> succeeded).hasSize(1);
+      assertThat(currentStatus()).isEqualTo(StudentCourseStatusType.IN_PROGRESS);
+    }
+  }
+
+  @Test
+  void 同じ受講生コースを同時に完了に更新した場合_成功するのは1件だけで他は競合となること() throws Exception {
+    for (int round = 0; round < ROUNDS; round++) {
+      resetStatus(StudentCourseStatusType.IN_PROGRESS);
+
+      List<Boolean> results = runConcurrently(() -> {
+        sut.updateStudentCourseStatusCompleted(STUDENT_COURSE_ID);
+        return null;
+      });
+
+      assertThat(results).filteredOn(succeeded -> succeeded).hasSize(1);
+      assertThat(currentStatus()).isEqualTo(StudentCourseStatusType.COMPLETED);
+    }
+  }
+
+  /**
+   * 全スレッドの準備が整ってから一斉に実行し、成功した場合はtrue、競合した場合はfalseを返す
+   */
+  private List<Boolean> runConcurrently(Callable<Void> transition) throws Exception {
+    CountDownLatch ready = new CountDownLatch(THREAD_COUNT);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> futures = new ArrayList<>();
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      futures.add(executor.submit(() -> {
+        ready.countDown();
+        start.await();
+        try {
+          transition.call();
+          return true;
+        } catch (ResourceConflictException e) {
+          return false;
+        }
+      }));
+    }
+    ready.await();
+    start.countDown();
+
+    List<Boolean> results = new ArrayList<>();
+    for (Future<Boolean> future : futures) {
+      // 競合以外の例外が発生した場合はここで失敗する
+      results.add(future.get(30, TimeUnit.SECONDS));
+    }
+    return results;
+  }
+
+  private void resetStatus(StudentCourseStatusType status) {
+    jdbcTemplate.update("UPDATE student_course_statuses SET status = ? WHERE student_course_id = ?",
+        status.getCode(), STUDENT_COURSE_ID);
+  }
+
+  private StudentCourseStatusType currentStatus() {
+    Integer code = jdbcTemplate.queryForObject("SELECT status FROM student_course_statuses WHERE student_course_id = ?",
+        Integer.class, STUDENT_COURSE_ID);
+    return StudentCourseStatusType.fromCode(code);
+  }
+}
@@ -0,0 +1,179 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.StudentDetail;
+
+class StudentDetailCacheTest {
+
+  private final StudentDetailCache sut = new StudentDetailCache(DataSize.ofMegabytes(1));
+
+  private final AtomicInteger loadCount = new AtomicInteger();
+
+  private final IntFunction<Optional<StudentDetail>> loader = id -> {
+    loadCount.incrementAndGet();
+    return Optional.of(studentDetail(id, id * 10));
+  };
+
+  @Test
+  void 保持している受講生詳細情報は検索せずに返却されること() {
+    Optional<StudentDetail> first = sut.getOrLoad(1, loader);
+    Optional<StudentDetail> second = sut.getOrLoad(1, loader);
+
+    assertThat(second.get()).isSameAs(first.get());
+    assertThat(loadCount.get()).isEqualTo(1);
+    assertThat(sut.hitRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  void 存在しない受講生の検索結果は保持されないこと() {
+    sut.getOrLoad(1, id -> Optional.empty());
+
+    assertThat(sut.getOrLoad(1, loader)).isPresent();
+    assertThat(sut.entryCount()).isEqualTo(1);
+    assertThat(loadCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  void 受講生IDを指定して削除した場合はその受講生のみ検索し直されること() {
+    sut.getOrLoad(1, loader);
+    sut.getOrLoad(2, loader);
+
+    sut.invalidateStudentAfterCommit(1);
+    sut.getOrLoad(1, loader);
+    sut.getOrLoad(2, loader);
+
+    assertThat(loadCount.get()).isEqualTo(3);
+    assertThat(sut.invalidationEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 受講生コースIDを指定して削除した場合はそのコースを含む受講生のみ検索し直されること() {
+    sut.getOrLoad(1, loader);
+    sut.getOrLoad(2, loader);
+
+    sut.invalidateStudentCoursesAfterCommit(List.of(20, 999));
+    sut.getOrLoad(1, loader);
+    sut.getOrLoad(2, loader);
+
+    assertThat(loadCount.get()).isEqualTo(3);
+    assertThat(sut.invalidationEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void トランザクション内で削除した場合はコミット後に削除されること() {
+    sut.getOrLoad(1, loader);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      sut.invalidateStudentAfterCommit(1);
+      assertThat(sut.entryCount()).isEqualTo(1);
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCommit());
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(sut.entryCount()).isZero();
+  }
+
+  @Test
+  void コミット後の削除はデータの版数が増える前に行われること() {
+    DataVersion dataVersion = new DataVersion();
+    sut.getOrLoad(1, loader);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      dataVersion.incrementAfterCommit();
+      sut.invalidateStudentAfterCommit(1);
+
+      TransactionSynchronization first = TransactionSynchronizationManager.getSynchronizations().get(0);
+      first.afterCommit();
+      assertThat(sut.entryCount()).isZero();
+      assertThat(dataVersion.current()).isZero();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void 検索中に削除が行われた場合は検索結果を保持しないこと() {
+    sut.getOrLoad(1, id -> {
+      // 検索中に他のスレッドで更新がコミットされた場合
+      sut.invalidateStudentAfterCommit(1);
+      return Optional.of(studentDetail(id, 10));
+    });
+
+    assertThat(sut.entryCount()).isZero();
+  }
+
+  @Test
+  void 更新中のトランザクション内ではキャッシュを使用しないこと() {
+    sut.getOrLoad(1, loader);
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      sut.getOrLoad(1, loader);
+      sut.getOrLoad(2, loader);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    assertThat(loadCount.get()).isEqualTo(3);
+    assertThat(sut.entryCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 合計サイズが上限を超えた場合は最も長く使用されていないものから削除されること() {
+    StudentDetail studentDetail = studentDetail(1, 10);
+    long size = StudentDetailCache.estimateSize(studentDetail);
+    StudentDetailCache cache = new StudentDetailCache(DataSize.ofBytes(size * 2));
+    cache.getOrLoad(1, loader);
+    cache.getOrLoad(2, loader);
+    // 受講生ID1を使用して、受講生ID2を最も長く使用されていないものにする
+    cache.getOrLoad(1, loader);
+
+    cache.getOrLoad(3, loader);
+
+    assertThat(cache.entryCount()).isEqualTo(2);
+    assertThat(cache.totalBytes()).isLessThanOrEqualTo(size * 2);
+    assertThat(cache.sizeEvictionCount()).isEqualTo(1);
+    int loadCountBefore = loadCount.get();
+    cache.getOrLoad(1, loader);
+    cache.getOrLoad(2, loader);
+    assertThat(loadCount.get()).isEqualTo(loadCountBefore + 1);
+  }
+
+  @Test
+  void メトリクスが出力されること() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    sut.bindTo(registry);
+    sut.getOrLoad(1, loader);
+    sut.getOrLoad(1, loader);
+
+    assertThat(registry.get("student.detail.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    assertThat(registry.get("student.detail.cache.requests").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    assertThat(registry.get("student.detail.cache.evictions").tag("cause", "size").functionCounter().count()).isZero();
+    assertThat(registry.get("student.detail.cache.size").gauge().value()).isPositive();
+    assertThat(registry.get("student.detail.cache.entries").gauge().value()).isEqualTo(1);
+  }
+
+  private static StudentDetail studentDetail(int studentId, int studentCourseId) {
+    Student student = new Student(studentId, "山田太郎", "ヤマダタロウ", null, "taro@example.com", "東京", 20, "男性", null, false);
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    StudentCourse studentCourse = new StudentCourse(studentCourseId, studentId, LocalDate.now(), LocalDate.now().plusWeeks(16), 1);
+    studentCourse.setCourseName("Javaコース");
+    studentCourses.add(studentCourse);
+    return new StudentDetail(student, studentCourses);
+  }
+}
@@ -0,0 +1,315 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentReadModelTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  private final DataVersion dataVersion = new DataVersion();
+
+  private StudentReadModel sut;
+
+  @BeforeEach
+  void setup() {
+    sut = readModel(Duration.ofMinutes(1), 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    sut.destroy();
+  }
+
+  @Test
+  void 起動時に全件読み込まれ受講生IDの昇順に返却されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(
+        studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS),
+        studentDetail(2, "BBB", 20, StudentCourseStatusType.PRE_ENROLLMENT)));
+
+    sut.refresh();
+
+    assertThat(sut.studentDetails()).extracting(detail -> detail.getStudent().getName()).containsExactly("AAA", "BBB");
+    assertThat(sut.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.PRE_ENROLLMENT)))
+        .extracting(detail -> detail.getStudent().getName()).containsExactly("BBB");
+    assertThat(sut.fullRefreshCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 変更された受講生のみ検索し直して反映されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(
+        studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS),
+        studentDetail(2, "BBB", 20, StudentCourseStatusType.PRE_ENROLLMENT)));
+    sut.refresh();
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1)))
+        .thenReturn(List.of(studentDetail(1, "AAA2", 10, StudentCourseStatusType.IN_PROGRESS)));
+
+    sut.markStudentsChangedAfterCommit(List.of(1));
+    sut.refresh();
+
+    assertThat(sut.studentDetails()).extracting(detail -> detail.getStudent().getName()).containsExactly("AAA2", "BBB");
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetails();
+    assertThat(sut.incrementalRefreshCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 変更された受講生はまとめて1回で検索し直されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(
+        studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS),
+        studentDetail(2, "BBB", 20, StudentCourseStatusType.IN_PROGRESS)));
+    sut.refresh();
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1, 2))).thenReturn(List.of(
+        studentDetail(1, "AAA2", 10, StudentCourseStatusType.IN_PROGRESS),
+        studentDetail(2, "BBB2", 20, StudentCourseStatusType.IN_PROGRESS)));
+
+    sut.markStudentsChangedAfterCommit(List.of(2, 1));
+    sut.refresh();
+
+    assertThat(sut.studentDetails()).extracting(detail -> detail.getStudent().getName()).containsExactly("AAA2", "BBB2");
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetailsByIds(Mockito.anyList());
+  }
+
+  @Test
+  void 変更された受講生を含む区間のみ作り直され受講生IDの昇順が保たれること() {
+    StudentReadModel readModel = readModel(Duration.ofMinutes(1), 10);
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(
+        studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS),
+        studentDetail(1500, "BBB", 20, StudentCourseStatusType.IN_PROGRESS),
+        studentDetail(3000, "CCC", 30, StudentCourseStatusType.IN_PROGRESS)));
+    readModel.refresh();
+    // 受講生1500を更新、受講生2000を追加、受講生3000を論理削除
+    StudentDetail deleted = new StudentDetail(
+        new Student(3000, "CCC", null, null, null, null, 20, null, null, true), List.of());
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1500, 2000, 3000))).thenReturn(List.of(
+        studentDetail(1500, "BBB2", 20, StudentCourseStatusType.IN_PROGRESS),
+        studentDetail(2000, "DDD", 40, StudentCourseStatusType.PRE_ENROLLMENT),
+        deleted));
+
+    readModel.markStudentsChangedAfterCommit(List.of(3000, 2000, 1500));
+    readModel.refresh();
+
+    List<StudentDetail> actual = readModel.studentDetails();
+    assertThat(actual).extracting(detail -> detail.getStudent().getName()).containsExactly("AAA", "BBB2", "DDD");
+    assertThat(actual).hasSize(3);
+    assertThat(actual.get(0).getStudent().getId()).isEqualTo(1);
+    assertThat(actual.get(2).getStudent().getId()).isEqualTo(2000);
+    assertThrows(IndexOutOfBoundsException.class, () -> actual.get(3));
+    assertThat(readModel.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.PRE_ENROLLMENT)))
+        .extracting(detail -> detail.getStudent().getName()).containsExactly("DDD");
+    assertThat(readModel.incrementalRefreshCount()).isEqualTo(1);
+    readModel.destroy();
+  }
+
+  @Test
+  void 申し込み状況が変更された受講生コースを含む受講生が検索し直されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(
+        studentDetail(1, "AAA", 10, StudentCourseStatusType.PRE_ENROLLMENT)));
+    sut.refresh();
+    Mockito.when(repository.searchStudentIdsByStudentCourseIds(List.of(10))).thenReturn(List.of(1));
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1)))
+        .thenReturn(List.of(studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS)));
+
+    sut.markStudentCoursesChangedAfterCommit(List.of(10));
+    sut.refresh();
+
+    assertThat(sut.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.PRE_ENROLLMENT))).isEmpty();
+    assertThat(sut.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.IN_PROGRESS))).hasSize(1);
+  }
+
+  @Test
+  void 論理削除された受講生は読み取りモデルから除外されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(
+        studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS)));
+    sut.refresh();
+    StudentDetail deleted = new StudentDetail(
+        new Student(1, "AAA", null, null, null, null, 20, null, null, true), List.of());
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1))).thenReturn(List.of(deleted));
+
+    sut.markStudentsChangedAfterCommit(List.of(1));
+    sut.refresh();
+
+    assertThat(sut.studentDetails()).isEmpty();
+  }
+
+  @Test
+  void 一度に反映する受講生が上限を超える場合は全件読み込み直されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of());
+    sut.refresh();
+
+    sut.markStudentsChangedAfterCommit(List.of(1, 2, 3));
+    sut.refresh();
+
+    Mockito.verify(repository, Mockito.times(2)).searchStudentDetails();
+    Mockito.verify(repository, Mockito.never()).searchStudentDetailsByIds(Mockito.anyList());
+    assertThat(sut.fullRefreshCount()).isEqualTo(2);
+  }
+
+  @Test
+  void 変更はコミット後に記録され反映時の版数がスナップショットの版数となること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of());
+    sut.refresh();
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1))).thenReturn(List.of());
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      sut.markStudentsChangedAfterCommit(List.of(1));
+      dataVersion.incrementAfterCommit();
+      assertThat(sut.pendingCount()).isZero();
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertThat(sut.pendingCount()).isEqualTo(1);
+    assertThat(sut.staleness()).isPositive();
+    assertThat(sut.version()).isZero();
+
+    sut.refresh();
+
+    assertThat(sut.pendingCount()).isZero();
+    assertThat(sut.staleness()).isZero();
+    assertThat(sut.version()).isEqualTo(1);
+  }
+
+  @Test
+  void 反映に失敗した場合は変更が未反映のまま残り次回に反映されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of());
+    sut.refresh();
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1)))
+        .thenThrow(new DataAccessResourceFailureException("error"))
+        .thenReturn(List.of(studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS)));
+    sut.markStudentsChangedAfterCommit(List.of(1));
+
+    assertThrows(DataAccessResourceFailureException.class, () -> sut.refresh());
+    assertThat(sut.pendingCount()).isEqualTo(1);
+
+    sut.refresh();
+    assertThat(sut.studentDetails()).hasSize(1);
+    assertThat(sut.pendingCount()).isZero();
+  }
+
+  @Test
+  void 申し込み状況の変更の反映に失敗した場合も変更が残り次回に反映されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(
+        studentDetail(1, "AAA", 10, StudentCourseStatusType.PRE_ENROLLMENT)));
+    sut.refresh();
+    Mockito.when(repository.searchStudentIdsByStudentCourseIds(List.of(10))).thenReturn(List.of(1));
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1)))
+        .thenThrow(new DataAccessResourceFailureException("error"))
+        .thenReturn(List.of(studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS)));
+    sut.markStudentCoursesChangedAfterCommit(List.of(10));
+
+    assertThrows(DataAccessResourceFailureException.class, () -> sut.refresh());
+    assertThat(sut.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.PRE_ENROLLMENT))).hasSize(1);
+
+    sut.refresh();
+    assertThat(sut.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.PRE_ENROLLMENT))).isEmpty();
+    assertThat(sut.studentDetailsByStatuses(EnumSet.of(StudentCourseStatusType.IN_PROGRESS))).hasSize(1);
+    Mockito.verify(repository, Mockito.times(2)).searchStudentDetailsByIds(List.of(1));
+  }
+
+  @Test
+  void 遅延が上限を超えている場合は検索時に反映されること() throws InterruptedException {
+    StudentReadModel readModel = readModel(Duration.ofMillis(1), 2);
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of());
+    readModel.refresh();
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1)))
+        .thenReturn(List.of(studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS)));
+    readModel.markStudentsChangedAfterCommit(List.of(1));
+    Thread.sleep(10);
+
+    List<StudentDetail> actual = readModel.studentDetails();
+
+    assertThat(actual).hasSize(1);
+    assertThat(readModel.forcedRefreshCount()).isEqualTo(1);
+    readModel.destroy();
+  }
+
+  @Test
+  void 検索時の反映は呼び出し元のトランザクション外で実行されること() throws InterruptedException {
+    StudentReadModel readModel = readModel(Duration.ofMillis(1), 2);
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of());
+    readModel.refresh();
+    AtomicBoolean readOnly = new AtomicBoolean(true);
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1))).thenAnswer(invocation -> {
+      readOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+      return List.of(studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS));
+    });
+    readModel.markStudentsChangedAfterCommit(List.of(1));
+    Thread.sleep(10);
+
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    try {
+      assertThat(readModel.studentDetails()).hasSize(1);
+    } finally {
+      TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+    assertThat(readOnly).isFalse();
+    readModel.destroy();
+  }
+
+  @Test
+  void 検索時の反映に失敗した場合は例外が送出されること() throws InterruptedException {
+    StudentReadModel readModel = readModel(Duration.ofMillis(1), 2);
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of());
+    readModel.refresh();
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1))).thenThrow(new DataAccessResourceFailureException("error"));
+    readModel.markStudentsChangedAfterCommit(List.of(1));
+    Thread.sleep(10);
+
+    assertThrows(DataAccessResourceFailureException.class, () -> readModel.studentDetails());
+    assertThat(readModel.pendingCount()).isEqualTo(1);
+    readModel.destroy();
+  }
+
+  @Test
+  void メトリクスが出力されること() {
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(
+        studentDetail(1, "AAA", 10, StudentCourseStatusType.IN_PROGRESS)));
+    sut.refresh();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    sut.bindTo(registry);
+
+    assertThat(registry.get("student.read.model.students").gauge().value()).isEqualTo(1);
+    assertThat(registry.get("student.read.model.staleness").gauge().value()).isZero();
+    assertThat(registry.get("student.read.model.pending").gauge().value()).isZero();
+    assertThat(registry.get("student.read.model.refreshes").tag("type", "full").functionCounter().count()).isEqualTo(1);
+  }
+
+  private StudentReadModel readModel(Duration maxStaleness, int maxIncrementalSize) {
+    return new StudentReadModel(repository, dataVersion, true, Duration.ofMinutes(1), maxStaleness, maxIncrementalSize);
+  }
+
+  private static StudentDetail studentDetail(int studentId, String name, int studentCourseId,
+      StudentCourseStatusType status) {
+    StudentCourse studentCourse = new StudentCourse(studentCourseId, studentId, LocalDate.now(),
+        LocalDate.now().plusWeeks(16), 1);
+    studentCourse.setStatus(status);
+    return new StudentDetail(new Student(studentId, name, null, null, null, null, 20, null, null, false),
+        List.of(studentCourse));
+  }
+}
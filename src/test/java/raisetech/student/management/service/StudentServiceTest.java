@@ -1,22 +1,35 @@
 package raisetech.student.management.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 import raisetech.student.management.data.Course;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.data.StudentCourseStatus;
+import raisetech.student.management.data.StudentCourseStatusType;
+import raisetech.student.management.domain.StudentCount;
+import raisetech.student.management.domain.StudentCourseStatusCount;
+import raisetech.student.management.domain.StudentCourseStatusRejection;
+import raisetech.student.management.domain.StudentCourseStatusTransitionResult;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailPage;
 import raisetech.student.management.exception.ResourceConflictException;
 import raisetech.student.management.exception.ResourceNotFoundException;
 import raisetech.student.management.repository.StudentRepository;
@@ -31,10 +44,26 @@ class StudentServiceTest {
   @Mock
   private StudentConverter converter;
 
+  @Mock
+  private CourseCatalog courseCatalog;
+
+  private final DataVersion dataVersion = new DataVersion();
+
+  private final StudentDetailCache studentDetailCache = new StudentDetailCache(DataSize.ofMegabytes(16));
+
+  private StudentReadModel readModel;
+
   private StudentService sut;
   @BeforeEach
   void setup() {
-    sut = new StudentService(repository, converter);
+    // 読み取りモデルを使用する検索は個別のテストで有効にする
+    readModel = new StudentReadModel(repository, dataVersion, false, Duration.ofMillis(500), Duration.ofSeconds(5), 1000);
+    sut = createService(readModel);
+  }
+
+  private StudentService createService(StudentReadModel readModel) {
+    return new StudentService(repository, converter, courseCatalog, dataVersion, new SingleFlight(),
+        studentDetailCache, readModel);
   }
 
   @Test
@@ -55,6 +84,21 @@ class StudentServiceTest {
     Mockito.verify(repository, Mockito.times(1)).searchStudentCourses();
   }
 
+  @Test
+  void 受講生コース情報の一覧検索_コース名をコースごとに個別検索しないこと() {
+    // 事前準備
+    List<StudentCourse> studentCourses = List.of(
+        new StudentCourse(1, 1, LocalDate.now(), LocalDate.now().plusWeeks(16), 1),
+        new StudentCourse(2, 1, LocalDate.now(), LocalDate.now().plusWeeks(16), 2)
+    );
+    Mockito.when(repository.searchStudentCourses()).thenReturn(studentCourses);
+    // 実行
+    List<StudentCourse> actual = sut.searchStudentCourses();
+    // 検証（コース名は結合済みの検索結果に含まれるため、コース名の検索は発生しない）
+    Mockito.verify(repository, Mockito.times(1)).searchStudentCourses();
+    Mockito.verify(repository, Mockito.never()).searchCourseNameById(Mockito.anyInt());
+  }
+
   @Test
   void 受講生情報のID検索_リポジトリの処理が適切に呼び出せること() throws ResourceNotFoundException {
     // 事前準備
@@ -86,18 +130,18 @@ class StudentServiceTest {
   }
 
   @Test
-  void 受講生詳細情報を全件検索_リポジトリとコンバーターの処理が適切に呼び出せること() throws ResourceNotFoundException {
+  void 受講生詳細情報を全件検索_リポジトリの処理が1回だけ呼び出せること() {
     // 事前準備
-    List<Student> students = new ArrayList<>();
-    List<StudentCourse> studentCourses = new ArrayList<>();
-    Mockito.when(repository.searchStudents()).thenReturn(students);
-    Mockito.when(repository.searchStudentCourses()).thenReturn(studentCourses);
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    Mockito.when(repository.searchStudentDetails()).thenReturn(studentDetails);
     // 実行
     List<StudentDetail> actual = sut.searchStudentDetails();
-    // 検証
-    Mockito.verify(repository, Mockito.times(1)).searchStudents();
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCourses();
-    Mockito.verify(converter, Mockito.times(1)).convertStudentDetails(students, studentCourses);
+    // 検証（受講生情報とコース情報を個別に検索してコンバーターで結合しないこと）
+    assertThat(actual).isSameAs(studentDetails);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetails();
+    Mockito.verify(repository, Mockito.never()).searchStudents();
+    Mockito.verify(repository, Mockito.never()).searchStudentCourses();
+    Mockito.verifyNoInteractions(converter);
   }
 
   @Test
@@ -105,14 +149,116 @@ class StudentServiceTest {
     // 事前準備
     int id = 1;
     Student student = new Student(id, null, null, null, null, null, 1, null, null, false);
-    List<StudentCourse> studentCourses = new ArrayList<>();
-    Mockito.when(repository.searchStudentById(id)).thenReturn(Optional.of(student));
-    Mockito.when(repository.searchStudentCoursesByStudentId(id)).thenReturn(studentCourses);
+    StudentDetail studentDetail = new StudentDetail(student, new ArrayList<>());
+    Mockito.when(repository.searchStudentDetailById(id)).thenReturn(Optional.of(studentDetail));
     // 実行
     StudentDetail actual = sut.searchStudentDetailById(id);
     // 検証
-    Mockito.verify(repository, Mockito.times(1)).searchStudentById(id);
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCoursesByStudentId(id);
+    assertThat(actual).isSameAs(studentDetail);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetailById(id);
+  }
+
+  @Test
+  void 受講生IDを指定して受講生詳細情報を検索_2回目以降はキャッシュから返却され検索しないこと() throws ResourceNotFoundException {
+    // 事前準備
+    int id = 1;
+    StudentDetail studentDetail = new StudentDetail(
+        new Student(id, null, null, null, null, null, 1, null, null, false), new ArrayList<>());
+    Mockito.when(repository.searchStudentDetailById(id)).thenReturn(Optional.of(studentDetail));
+    // 実行
+    sut.searchStudentDetailById(id);
+    StudentDetail actual = sut.searchStudentDetailById(id);
+    // 検証
+    assertThat(actual).isSameAs(studentDetail);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetailById(id);
+  }
+
+  @Test
+  void 受講生IDを指定して受講生詳細情報を検索_受講生情報の更新後は検索し直すこと() throws ResourceNotFoundException {
+    // 事前準備
+    Student student = new Student(1, null, null, null, null, null, 1, null, null, false);
+    Student otherStudent = new Student(2, null, null, null, null, null, 1, null, null, false);
+    Mockito.when(repository.searchStudentDetailById(1)).thenReturn(Optional.of(new StudentDetail(student, new ArrayList<>())));
+    Mockito.when(repository.searchStudentDetailById(2)).thenReturn(Optional.of(new StudentDetail(otherStudent, new ArrayList<>())));
+    sut.searchStudentDetailById(1);
+    sut.searchStudentDetailById(2);
+    // 実行
+    sut.updateStudent(new StudentDetail(student, new ArrayList<>()));
+    sut.searchStudentDetailById(1);
+    sut.searchStudentDetailById(2);
+    // 検証（更新した受講生のみ検索し直す）
+    Mockito.verify(repository, Mockito.times(2)).searchStudentDetailById(1);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetailById(2);
+  }
+
+  @Test
+  void 受講生IDを指定して受講生詳細情報を検索_受講生コース申し込み状況の更新後はその受講生のみ検索し直すこと()
+      throws ResourceNotFoundException, ResourceConflictException {
+    // 事前準備
+    StudentCourse studentCourse = new StudentCourse(10, 1, LocalDate.now(), LocalDate.now().plusWeeks(16), 1);
+    StudentCourse otherStudentCourse = new StudentCourse(20, 2, LocalDate.now(), LocalDate.now().plusWeeks(16), 1);
+    Mockito.when(repository.searchStudentDetailById(1)).thenReturn(Optional.of(new StudentDetail(
+        new Student(1, null, null, null, null, null, 1, null, null, false), List.of(studentCourse))));
+    Mockito.when(repository.searchStudentDetailById(2)).thenReturn(Optional.of(new StudentDetail(
+        new Student(2, null, null, null, null, null, 1, null, null, false), List.of(otherStudentCourse))));
+    Mockito.when(repository.updateStudentCourseStatusCompleted(10)).thenReturn(1);
+    sut.searchStudentDetailById(1);
+    sut.searchStudentDetailById(2);
+    // 実行
+    sut.updateStudentCourseStatusCompleted(10);
+    sut.searchStudentDetailById(1);
+    sut.searchStudentDetailById(2);
+    // 検証
+    Mockito.verify(repository, Mockito.times(2)).searchStudentDetailById(1);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetailById(2);
+  }
+
+  @Test
+  void 受講生IDを指定して受講生詳細情報を検索_指定されたIDの受講生が存在しない場合に例外が発生すること() {
+    // 事前準備
+    int id = 1;
+    Mockito.when(repository.searchStudentDetailById(id)).thenReturn(Optional.empty());
+    // 例外処理の発生を検証
+    assertThrows(ResourceNotFoundException.class, () -> sut.searchStudentDetailById(id));
+  }
+
+  @Test
+  void 受講生IDを複数指定して受講生詳細情報を検索_まとめて検索され指定した順序で返却されること() {
+    // 事前準備
+    List<Student> students = List.of(
+        new Student(1, null, null, null, null, null, 1, null, null, false),
+        new Student(3, null, null, null, null, null, 1, null, null, false));
+    List<StudentCourse> studentCourses = List.of(
+        new StudentCourse(10, 3, LocalDate.now(), LocalDate.now().plusWeeks(16), 1));
+    Mockito.when(repository.searchStudentsByIds(List.of(3, 999, 1))).thenReturn(students);
+    Mockito.when(repository.searchStudentCoursesByStudentIds(List.of(1, 3), null)).thenReturn(studentCourses);
+    Mockito.when(converter.convertStudentDetails(students, studentCourses)).thenReturn(List.of(
+        new StudentDetail(students.get(0), List.of()),
+        new StudentDetail(students.get(1), studentCourses)));
+    // 実行（重複したIDと存在しないIDを含む）
+    List<StudentDetail> actual = sut.searchStudentDetailsByIds(List.of(3, 999, 1, 3));
+    // 検証
+    assertThat(actual).extracting(studentDetail -> studentDetail.getStudent().getId()).containsExactly(3, 1);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentsByIds(Mockito.anyList());
+    Mockito.verify(repository, Mockito.times(1)).searchStudentCoursesByStudentIds(Mockito.anyList(), Mockito.any());
+    Mockito.verify(repository, Mockito.never()).searchStudentDetailById(Mockito.anyInt());
+  }
+
+  @Test
+  void 受講生IDを複数指定して受講生詳細情報を検索_受講生IDが多い場合は1000件ごとに分けて検索されること() {
+    // 事前準備
+    List<Integer> ids = new ArrayList<>();
+    for (int id = 1; id <= 1500; id++) {
+      ids.add(id);
+    }
+    Mockito.when(repository.searchStudentsByIds(Mockito.anyList())).thenReturn(List.of());
+    // 実行
+    List<StudentDetail> actual = sut.searchStudentDetailsByIds(ids);
+    // 検証（存在する受講生がない場合はコース情報を検索しない）
+    assertThat(actual).isEmpty();
+    Mockito.verify(repository, Mockito.times(1)).searchStudentsByIds(ids.subList(0, 1000));
+    Mockito.verify(repository, Mockito.times(1)).searchStudentsByIds(ids.subList(1000, 1500));
+    Mockito.verify(repository, Mockito.never()).searchStudentCoursesByStudentIds(Mockito.anyList(), Mockito.any());
   }
 
   @Test
@@ -125,21 +271,23 @@ class StudentServiceTest {
   }
 
   @Test
-  void コースIDを指定してコース名を検索_リポジトリの処理が適切に呼び出せること() throws ResourceNotFoundException {
+  void コースIDを指定してコース名を検索_コース情報のキャッシュから検索されること() throws ResourceNotFoundException {
     // 事前準備
     String name = "サンプルコース";
-    Mockito.when(repository.searchCourseNameById(1)).thenReturn(Optional.of(name));
+    Mockito.when(courseCatalog.findById(1)).thenReturn(Optional.of(new Course(1, name, 100000)));
     // 実行
     String actual = sut.searchCourseNameById(1);
     // 検証
-    Mockito.verify(repository, Mockito.times(1)).searchCourseNameById(1);
+    assertThat(actual).isEqualTo(name);
+    Mockito.verify(courseCatalog, Mockito.times(1)).findById(1);
+    Mockito.verify(repository, Mockito.never()).searchCourseNameById(Mockito.anyInt());
   }
 
   @Test
   void コースIDを指定してコース名を検索_指定されたIDのコースが存在しない場合に例外が発生すること() {
     // 事前準備
     int id = 1;
-    Mockito.when(repository.searchCourseNameById(id)).thenReturn(Optional.empty());
+    Mockito.when(courseCatalog.findById(id)).thenReturn(Optional.empty());
     // 例外処理の発生を検証
     assertThrows(ResourceNotFoundException.class, () -> sut.searchCourseNameById(id));
   }
@@ -153,7 +301,7 @@ class StudentServiceTest {
     StudentDetail studentDetail = new StudentDetail(student, studentCourses);
     // repositoryをmock化しているため、studentCourseに登録されたstudentIdが0のまま
     Mockito.when(repository.searchStudentById(0)).thenReturn(Optional.of(student));
-    Mockito.when(repository.searchCourseNameById(1)).thenReturn(Optional.of("サンプルコース"));
+    Mockito.when(courseCatalog.findById(1)).thenReturn(Optional.of(new Course(1, "サンプルコース", 100000)));
     // 実行
     sut.registerStudent(studentDetail);
     // 検証
@@ -173,11 +321,23 @@ class StudentServiceTest {
     Mockito.verify(repository, Mockito.times(1)).updateStudent(student);
   }
 
+  @Test
+  void 受講生情報の更新_データの版数が更新されること() {
+    // 事前準備
+    Student student = new Student(1, null, null, null, null, null, 1, null, null, false);
+    StudentDetail studentDetail = new StudentDetail(student, new ArrayList<>());
+    long before = dataVersion.current();
+    // 実行
+    sut.updateStudent(studentDetail);
+    // 検証
+    assertThat(dataVersion.current()).isEqualTo(before + 1);
+  }
+
   @Test
   void 受講生コース情報の新規登録_リポジトリの処理が適切に呼び出せること() throws ResourceNotFoundException {
     // 事前準備
     StudentCourse studentCourse = StudentCourse.initStudentCourse(1, 1);
-    Mockito.when(repository.searchCourseNameById(1)).thenReturn(Optional.of("サンプルコース"));
+    Mockito.when(courseCatalog.findById(1)).thenReturn(Optional.of(new Course(1, "サンプルコース", 100000)));
     Mockito.when(repository.searchStudentById(1))
         .thenReturn(Optional.of(new Student(1, null, null, null, null, null, 1, null, null, false)));
     // 実行
@@ -195,6 +355,7 @@ class StudentServiceTest {
     sut.registerCourse(course);
     // 検証
     Mockito.verify(repository, Mockito.times(1)).insertCourse(course);
+    Mockito.verify(courseCatalog, Mockito.times(1)).putAfterCommit(course);
   }
 
   @Test
@@ -230,26 +391,24 @@ class StudentServiceTest {
   }
 
   @Test
-  void 受講生コース申し込み状況の受講中への更新_リポジトリの処理が適切に呼び出せること() throws ResourceNotFoundException, ResourceConflictException {
-    // privateメソッドの部分も同時にテスト
+  void 受講生コース申し込み状況の受講中への更新_条件付きの更新1回で完了し申し込み状況を検索しないこと() throws ResourceNotFoundException, ResourceConflictException {
     // 事前準備
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "仮申し込み") ;
-    Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
-    StudentCourse studentCourse = new StudentCourse(studentCourseId, 1, LocalDate.now(), LocalDate.now().plusWeeks(16), 1);
-    Mockito.when(repository.searchStudentCourseById(1)).thenReturn(Optional.of(studentCourse));
+    LocalDate now = LocalDate.now();
+    Mockito.when(repository.updateStudentCourseStatusInProgress(studentCourseId)).thenReturn(1);
+    Mockito.when(repository.updateStudentCourseDates(List.of(studentCourseId), now, now.plusWeeks(16))).thenReturn(1);
     // 実行
     sut.updateStudentCourseStatusInProgress(studentCourseId);
     // 検証
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCourseStatusByStudentCourseId(studentCourseId);
     Mockito.verify(repository, Mockito.times(1)).updateStudentCourseStatusInProgress(studentCourseId);
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCourseById(studentCourseId);
-    Mockito.verify(repository, Mockito.times(1)).updateStudentCourse(studentCourse);
+    Mockito.verify(repository, Mockito.times(1)).updateStudentCourseDates(List.of(studentCourseId), now, now.plusWeeks(16));
+    Mockito.verify(repository, Mockito.never()).searchStudentCourseStatusByStudentCourseId(studentCourseId);
+    Mockito.verify(repository, Mockito.never()).searchStudentCourseById(studentCourseId);
   }
 
   @Test
   void 受講生コース申し込み状況の受講中への更新_指定されたIDの受講生コース申し込み状況が存在しない場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（更新件数は0）
     int studentCourseId = 1;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.empty());
     // 例外処理の発生を検証
@@ -258,20 +417,21 @@ class StudentServiceTest {
 
   @Test
   void 受講生コース申し込み状況の受講中への更新_指定されたIDの受講生コースが既に受講中の場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（更新件数は0）
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "受講中") ;
+    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, StudentCourseStatusType.IN_PROGRESS) ;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
     // 例外処理の発生を検証（メッセージ含む）
     ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> sut.updateStudentCourseStatusInProgress(studentCourseId));
     assert(exception.getMessage().contains("既に受講中の受講生コースです"));
+    Mockito.verify(repository, Mockito.never()).updateStudentCourseDates(Mockito.any(), Mockito.any(), Mockito.any());
   }
 
   @Test
   void 受講生コース申し込み状況の受講中への更新_指定されたIDの受講生コースが完了の場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（更新件数は0）
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "完了") ;
+    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, StudentCourseStatusType.COMPLETED) ;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
     // 例外処理の発生を検証（メッセージ含む）
     ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> sut.updateStudentCourseStatusInProgress(studentCourseId));
@@ -280,9 +440,9 @@ class StudentServiceTest {
 
   @Test
   void 受講生コース申し込み状況の受講中への更新_指定されたIDの受講生コースの状態が不正の場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（更新件数は0）
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "不正な状態") ;
+    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, null) ;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
     // 例外処理の発生を検証（メッセージ含む）
     ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> sut.updateStudentCourseStatusInProgress(studentCourseId));
@@ -291,31 +451,30 @@ class StudentServiceTest {
 
   @Test
   void 受講生コース申し込み状況の受講中への更新_指定されたIDの受講生コースが存在しない場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（申し込み状況は更新できたが受講生コース情報は更新できない）
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "仮申し込み") ;
-    Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(studentCourseId)).thenReturn(Optional.of(studentCourseStatus));
-    Mockito.when(repository.searchStudentCourseById(studentCourseId)).thenReturn(Optional.empty());
+    LocalDate now = LocalDate.now();
+    Mockito.when(repository.updateStudentCourseStatusInProgress(studentCourseId)).thenReturn(1);
+    Mockito.when(repository.updateStudentCourseDates(List.of(studentCourseId), now, now.plusWeeks(16))).thenReturn(0);
     // 例外処理の発生を検証
     assertThrows(ResourceNotFoundException.class, () -> sut.updateStudentCourseStatusInProgress(studentCourseId));
   }
 
   @Test
-  void 受講生コース申し込み状況の完了への更新_リポジトリの処理が適切に呼び出せること() throws ResourceNotFoundException, ResourceConflictException {
+  void 受講生コース申し込み状況の完了への更新_条件付きの更新1回で完了し申し込み状況を検索しないこと() throws ResourceNotFoundException, ResourceConflictException {
     // 事前準備
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "受講中") ;
-    Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
+    Mockito.when(repository.updateStudentCourseStatusCompleted(studentCourseId)).thenReturn(1);
     // 実行
     sut.updateStudentCourseStatusCompleted(studentCourseId);
     // 検証
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCourseStatusByStudentCourseId(studentCourseId);
     Mockito.verify(repository, Mockito.times(1)).updateStudentCourseStatusCompleted(studentCourseId);
+    Mockito.verify(repository, Mockito.never()).searchStudentCourseStatusByStudentCourseId(studentCourseId);
   }
 
   @Test
   void 受講生コース申し込み状況の完了への更新_指定されたIDの受講生コースが存在しない場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（更新件数は0）
     int studentCourseId = 1;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.empty());
     // 例外処理の発生を検証
@@ -324,20 +483,22 @@ class StudentServiceTest {
 
   @Test
   void 受講生コース申し込み状況の完了への更新_指定されたIDの受講生コースが既に完了の場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（更新件数は0）
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "完了") ;
+    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, StudentCourseStatusType.COMPLETED) ;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
     // 例外処理の発生を検証（メッセージ含む）
     ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> sut.updateStudentCourseStatusCompleted(studentCourseId));
     assert(exception.getMessage().contains("既に完了している受講生コースです"));
+    // 更新されていないためデータの版数は変わらないこと
+    assertThat(dataVersion.current()).isEqualTo(0);
   }
 
   @Test
   void 受講生コース申し込み状況の完了への更新_指定されたIDの受講生コースが仮申し込みの場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（更新件数は0）
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "仮申し込み") ;
+    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, StudentCourseStatusType.PRE_ENROLLMENT) ;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
     // 例外処理の発生を検証（メッセージ含む）
     ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> sut.updateStudentCourseStatusCompleted(studentCourseId));
@@ -346,15 +507,74 @@ class StudentServiceTest {
 
   @Test
   void 受講生コース申し込み状況の完了への更新_指定されたIDの受講生コースの状態が不正の場合に例外が発生すること() {
-    // 事前準備
+    // 事前準備（更新件数は0）
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "不正な状態") ;
+    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, null) ;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
     // 例外処理の発生を検証（メッセージ含む）
     ResourceConflictException exception = assertThrows(ResourceConflictException.class, () -> sut.updateStudentCourseStatusCompleted(studentCourseId));
     assert(exception.getMessage().contains("申し込み状況が不正です"));
   }
 
+  @Test
+  void 受講生コース申し込み状況の一括更新_受講中に更新できるものだけがまとめて更新されること() {
+    // 事前準備
+    List<Integer> studentCourseIds = List.of(1, 2, 3, 4, 99, 1);
+    Mockito.when(repository.searchStudentCourseStatusesByStudentCourseIdsForUpdate(List.of(1, 2, 3, 4, 99)))
+        .thenReturn(List.of(
+            new StudentCourseStatus(1, 1, StudentCourseStatusType.PRE_ENROLLMENT),
+            new StudentCourseStatus(2, 2, StudentCourseStatusType.IN_PROGRESS),
+            new StudentCourseStatus(3, 3, StudentCourseStatusType.COMPLETED),
+            new StudentCourseStatus(4, 4, StudentCourseStatusType.PRE_ENROLLMENT)));
+    // 実行
+    StudentCourseStatusTransitionResult actual = sut.updateStudentCourseStatuses(studentCourseIds, StudentCourseStatusType.IN_PROGRESS);
+    // 検証（重複したIDは1回だけ扱われること）
+    assertThat(actual.getUpdatedStudentCourseIds()).containsExactly(1, 4);
+    assertThat(actual.getRejections())
+        .extracting(StudentCourseStatusRejection::getStudentCourseId, StudentCourseStatusRejection::getReason)
+        .containsExactly(
+            tuple(2, "既に受講中の受講生コースです"),
+            tuple(3, "既に完了している受講生コースです"),
+            tuple(99, "指定されたIDの受講生コース申し込み状況は存在しません"));
+    Mockito.verify(repository, Mockito.times(1)).updateStudentCourseStatuses(List.of(1, 4), StudentCourseStatusType.PRE_ENROLLMENT, StudentCourseStatusType.IN_PROGRESS);
+    LocalDate now = LocalDate.now();
+    Mockito.verify(repository, Mockito.times(1)).updateStudentCourseDates(List.of(1, 4), now, now.plusWeeks(16));
+    // 受講生コースごとの検索や更新は行わないこと
+    Mockito.verify(repository, Mockito.never()).searchStudentCourseStatusByStudentCourseId(Mockito.anyInt());
+    Mockito.verify(repository, Mockito.never()).updateStudentCourse(Mockito.any());
+  }
+
+  @Test
+  void 受講生コース申し込み状況の一括更新_完了に更新する場合は受講日を更新しないこと() {
+    // 事前準備
+    Mockito.when(repository.searchStudentCourseStatusesByStudentCourseIdsForUpdate(List.of(1, 2)))
+        .thenReturn(List.of(
+            new StudentCourseStatus(1, 1, StudentCourseStatusType.IN_PROGRESS),
+            new StudentCourseStatus(2, 2, StudentCourseStatusType.PRE_ENROLLMENT)));
+    // 実行
+    StudentCourseStatusTransitionResult actual = sut.updateStudentCourseStatuses(List.of(1, 2), StudentCourseStatusType.COMPLETED);
+    // 検証
+    assertThat(actual.getUpdatedStudentCourseIds()).containsExactly(1);
+    assertThat(actual.getRejections())
+        .extracting(StudentCourseStatusRejection::getReason)
+        .containsExactly("仮申し込みの受講生コースは完了できません");
+    Mockito.verify(repository, Mockito.times(1)).updateStudentCourseStatuses(List.of(1), StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.COMPLETED);
+    Mockito.verify(repository, Mockito.never()).updateStudentCourseDates(Mockito.any(), Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void 受講生コース申し込み状況の一括更新_更新できるものがない場合は更新しないこと() {
+    // 事前準備
+    Mockito.when(repository.searchStudentCourseStatusesByStudentCourseIdsForUpdate(List.of(1)))
+        .thenReturn(List.of(new StudentCourseStatus(1, 1, StudentCourseStatusType.COMPLETED)));
+    // 実行
+    StudentCourseStatusTransitionResult actual = sut.updateStudentCourseStatuses(List.of(1), StudentCourseStatusType.COMPLETED);
+    // 検証
+    assertThat(actual.getUpdatedStudentCourseIds()).isEmpty();
+    Mockito.verify(repository, Mockito.never()).updateStudentCourseStatuses(Mockito.any(), Mockito.any(), Mockito.any());
+    assertThat(dataVersion.current()).isEqualTo(0);
+  }
+
   @Test
   void 受講生コース情報のID検索_リポジトリの処理が適切に呼び出せること() throws ResourceNotFoundException {
     // 事前準備
@@ -381,7 +601,7 @@ class StudentServiceTest {
   void 受講生コース申し込み状況の受講生コースIDによる検索_リポジトリの処理が適切に呼び出せること() throws ResourceNotFoundException {
     // 事前準備
     int studentCourseId = 1;
-    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, "仮申し込み") ;
+    StudentCourseStatus studentCourseStatus = new StudentCourseStatus(1, studentCourseId, StudentCourseStatusType.PRE_ENROLLMENT) ;
     Mockito.when(repository.searchStudentCourseStatusByStudentCourseId(1)).thenReturn(Optional.of(studentCourseStatus));
     // 実行
     StudentCourseStatus actual = sut.searchStudentCourseStatusByStudentCourseId(studentCourseId);
@@ -399,39 +619,219 @@ class StudentServiceTest {
   }
 
   @Test
-  void 受講中のコースを含む受講生詳細の全件検索_リポジトリの処理が適切に呼び出せること() {
+  void 受講中のコースを含む受講生詳細の全件検索_申し込み状況を指定してリポジトリの処理が呼び出せること() {
     // 事前準備
-    List<Student> students = new ArrayList<>();
-    List<StudentCourse> studentCourses = new ArrayList<>();
-    List<StudentCourseStatus> studentCourseStatuses = new ArrayList<>();
-    Mockito.when(repository.searchStudents()).thenReturn(students);
-    Mockito.when(repository.searchStudentCourses()).thenReturn(studentCourses);
-    Mockito.when(repository.searchStudentCourseStatusesInProgress()).thenReturn(studentCourseStatuses);
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    Mockito.when(repository.searchStudentDetailsByStatus(StudentCourseStatusType.IN_PROGRESS)).thenReturn(studentDetails);
     // 実行
     List<StudentDetail> actual = sut.searchStudentDetailsInProgress();
+    // 検証（全件を検索してから絞り込まないこと）
+    assertThat(actual).isSameAs(studentDetails);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetailsByStatus(StudentCourseStatusType.IN_PROGRESS);
+    Mockito.verify(repository, Mockito.never()).searchStudents();
+    Mockito.verify(repository, Mockito.never()).searchStudentCourses();
+    Mockito.verifyNoInteractions(converter);
+  }
+
+  @Test
+  void 仮申し込みのコースを含む受講生詳細の全件検索_申し込み状況を指定してリポジトリの処理が呼び出せること() {
+    // 事前準備
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    Mockito.when(repository.searchStudentDetailsByStatus(StudentCourseStatusType.PRE_ENROLLMENT)).thenReturn(studentDetails);
+    // 実行
+    List<StudentDetail> actual = sut.searchStudentDetailsPreEnrollment();
+    // 検証（全件を検索してから絞り込まないこと）
+    assertThat(actual).isSameAs(studentDetails);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetailsByStatus(StudentCourseStatusType.PRE_ENROLLMENT);
+    Mockito.verify(repository, Mockito.never()).searchStudents();
+    Mockito.verify(repository, Mockito.never()).searchStudentCourses();
+    Mockito.verifyNoInteractions(converter);
+  }
+
+  @Test
+  void 申し込み状況を指定した受講生詳細の全件検索_申し込み状況の組み合わせを指定してリポジトリの処理が1回だけ呼び出せること() {
+    // 事前準備
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    Mockito.when(repository.searchStudentDetailsByStatuses(
+        EnumSet.of(StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.COMPLETED))).thenReturn(studentDetails);
+    // 実行（指定の順序や重複によらず、同じ組み合わせとして検索されること）
+    List<StudentDetail> actual = sut.searchStudentDetailsByStatuses(List.of(
+        StudentCourseStatusType.COMPLETED, StudentCourseStatusType.IN_PROGRESS, StudentCourseStatusType.COMPLETED));
     // 検証
-    Mockito.verify(repository, Mockito.times(1)).searchStudents();
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCourses();
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCourseStatusesInProgress();
-    Mockito.verify(converter, Mockito.times(1)).convertStudentDetailsWithStatus(students, studentCourses, studentCourseStatuses);
+    assertThat(actual).isSameAs(studentDetails);
+    Mockito.verify(repository, Mockito.never()).searchStudents();
+    Mockito.verify(repository, Mockito.never()).searchStudentCourses();
+    Mockito.verifyNoInteractions(converter);
   }
 
   @Test
-  void 仮申し込みのコースを含む受講生詳細の全件検索_リポジトリの処理が適切に呼び出せること() {
+  void 読み取りモデルが有効な場合_一覧検索はデータベースを検索せずに読み取りモデルから返却されること() {
     // 事前準備
-    List<Student> students = new ArrayList<>();
+    StudentCourse inProgress = new StudentCourse(10, 1, LocalDate.now(), LocalDate.now().plusWeeks(16), 1);
+    inProgress.setStatus(StudentCourseStatusType.IN_PROGRESS);
+    StudentDetail studentDetail = new StudentDetail(
+        new Student(1, null, null, null, null, null, 1, null, null, false), List.of(inProgress));
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(studentDetail));
+    StudentReadModel enabledReadModel =
+        new StudentReadModel(repository, dataVersion, true, Duration.ofMillis(500), Duration.ofSeconds(5), 1000);
+    enabledReadModel.refresh();
+    StudentService service = createService(enabledReadModel);
+    // 実行
+    List<StudentDetail> all = service.searchStudentDetails();
+    List<StudentDetail> actualInProgress = service.searchStudentDetailsInProgress();
+    List<StudentDetail> preEnrollment = service.searchStudentDetailsPreEnrollment();
+    List<StudentDetail> byStatuses = service.searchStudentDetailsByStatuses(List.of(StudentCourseStatusType.IN_PROGRESS));
+    // 検証（全件の読み込みは読み取りモデルの作成時の1回のみ）
+    assertThat(all).extracting(detail -> detail.getStudent().getId()).containsExactly(1);
+    assertThat(actualInProgress).flatExtracting(StudentDetail::getStudentCourses).containsExactly(inProgress);
+    assertThat(preEnrollment).isEmpty();
+    assertThat(byStatuses).flatExtracting(StudentDetail::getStudentCourses).containsExactly(inProgress);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentDetails();
+    Mockito.verify(repository, Mockito.never()).searchStudentDetailsByStatus(Mockito.any());
+    Mockito.verify(repository, Mockito.never()).searchStudents();
+    assertThat(service.searchStudentDetailsVersion()).isEqualTo(dataVersion.current());
+  }
+
+  @Test
+  void 読み取りモデルが有効な場合_受講生情報の更新は反映されるまで一覧検索の結果と版数に含まれないこと() {
+    // 事前準備
+    Student student = new Student(1, "before", null, null, null, null, 1, null, null, false);
+    Student updated = new Student(1, "after", null, null, null, null, 1, null, null, false);
+    Mockito.when(repository.searchStudentDetails()).thenReturn(List.of(new StudentDetail(student, List.of())));
+    Mockito.when(repository.searchStudentDetailsByIds(List.of(1))).thenReturn(List.of(new StudentDetail(updated, List.of())));
+    StudentReadModel enabledReadModel =
+        new StudentReadModel(repository, dataVersion, true, Duration.ofMillis(500), Duration.ofSeconds(5), 1000);
+    enabledReadModel.refresh();
+    StudentService service = createService(enabledReadModel);
+    long versionBefore = service.searchStudentDetailsVersion();
+    // 実行
+    service.updateStudent(new StudentDetail(updated, List.of()));
+    // 検証
+    assertThat(service.searchStudentDetailsVersion()).isEqualTo(versionBefore);
+    assertThat(service.searchStudentDetails()).extracting(detail -> detail.getStudent().getName()).containsExactly("before");
+    enabledReadModel.refresh();
+    assertThat(service.searchStudentDetailsVersion()).isEqualTo(dataVersion.current()).isGreaterThan(versionBefore);
+    assertThat(service.searchStudentDetails()).extracting(detail -> detail.getStudent().getName()).containsExactly("after");
+  }
+
+  @Test
+  void 受講生詳細のページング検索_次のページがある場合にnextCursorが設定されること() {
+    // 事前準備（limit + 1件が検索された場合は次のページがある）
+    List<Student> students = new ArrayList<>(List.of(
+        new Student(11, null, null, null, null, null, 1, null, null, false),
+        new Student(12, null, null, null, null, null, 1, null, null, false),
+        new Student(13, null, null, null, null, null, 1, null, null, false)
+    ));
     List<StudentCourse> studentCourses = new ArrayList<>();
-    List<StudentCourseStatus> studentCourseStatuses = new ArrayList<>();
-    Mockito.when(repository.searchStudents()).thenReturn(students);
-    Mockito.when(repository.searchStudentCourses()).thenReturn(studentCourses);
-    Mockito.when(repository.searchStudentCourseStatusesPreEnrollment()).thenReturn(studentCourseStatuses);
+    Mockito.when(repository.searchStudentsAfter(10, 3, null)).thenReturn(students);
+    Mockito.when(repository.searchStudentCoursesByStudentIds(List.of(11, 12), null)).thenReturn(studentCourses);
+    Mockito.when(converter.convertStudentDetails(students.subList(0, 2), studentCourses)).thenReturn(new ArrayList<>());
     // 実行
-    List<StudentDetail> actual = sut.searchStudentDetailsPreEnrollment();
+    StudentDetailPage actual = sut.searchStudentDetailPage(10, 2);
+    // 検証（コース情報はページ内の受講生の分だけ検索されること）
+    assertThat(actual.getNextCursor()).isEqualTo(12);
+    Mockito.verify(repository, Mockito.times(1)).searchStudentCoursesByStudentIds(List.of(11, 12), null);
+    Mockito.verify(repository, Mockito.never()).searchStudentCourses();
+  }
+
+  @Test
+  void 受講生詳細のページング検索_最後のページの場合にnextCursorがnullであること() {
+    // 事前準備
+    List<Student> students = new ArrayList<>(List.of(
+        new Student(11, null, null, null, null, null, 1, null, null, false)
+    ));
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    Mockito.when(repository.searchStudentsAfter(10, 3, null)).thenReturn(students);
+    Mockito.when(repository.searchStudentCoursesByStudentIds(List.of(11), null)).thenReturn(studentCourses);
+    // 実行
+    StudentDetailPage actual = sut.searchStudentDetailPage(10, 2);
     // 検証
-    Mockito.verify(repository, Mockito.times(1)).searchStudents();
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCourses();
-    Mockito.verify(repository, Mockito.times(1)).searchStudentCourseStatusesPreEnrollment();
-    Mockito.verify(converter, Mockito.times(1)).convertStudentDetailsWithStatus(students, studentCourses, studentCourseStatuses);
+    assertThat(actual.getNextCursor()).isNull();
+    Mockito.verify(converter, Mockito.times(1)).convertStudentDetails(students, studentCourses);
+  }
+
+  @Test
+  void 受講生詳細のページング検索_受講生が存在しない場合はコース情報を検索しないこと() {
+    // 事前準備
+    Mockito.when(repository.searchStudentsAfter(10, 3, null)).thenReturn(new ArrayList<>());
+    // 実行
+    StudentDetailPage actual = sut.searchStudentDetailPage(10, 2);
+    // 検証
+    assertThat(actual.getStudentDetails()).isEmpty();
+    assertThat(actual.getNextCursor()).isNull();
+    Mockito.verify(repository, Mockito.never()).searchStudentCoursesByStudentIds(Mockito.anyList(), Mockito.any());
+  }
+
+  @Test
+  void 受講中の受講生詳細のページング検索_申し込み状況を指定してリポジトリの処理が呼び出せること() {
+    // 事前準備
+    List<Student> students = new ArrayList<>(List.of(
+        new Student(1, null, null, null, null, null, 1, null, null, false)
+    ));
+    Mockito.when(repository.searchStudentsAfter(0, 11, StudentCourseStatusType.IN_PROGRESS)).thenReturn(students);
+    // 実行
+    StudentDetailPage actual = sut.searchStudentDetailPageInProgress(0, 10);
+    // 検証
+    Mockito.verify(repository, Mockito.times(1)).searchStudentCoursesByStudentIds(List.of(1), StudentCourseStatusType.IN_PROGRESS);
+  }
+
+  @Test
+  void 仮申し込みの受講生詳細のページング検索_申し込み状況を指定してリポジトリの処理が呼び出せること() {
+    // 事前準備
+    List<Student> students = new ArrayList<>(List.of(
+        new Student(4, null, null, null, null, null, 1, null, null, false)
+    ));
+    Mockito.when(repository.searchStudentsAfter(0, 11, StudentCourseStatusType.PRE_ENROLLMENT)).thenReturn(students);
+    // 実行
+    StudentDetailPage actual = sut.searchStudentDetailPagePreEnrollment(0, 10);
+    // 検証
+    Mockito.verify(repository, Mockito.times(1)).searchStudentCoursesByStudentIds(List.of(4), StudentCourseStatusType.PRE_ENROLLMENT);
+  }
+
+  @Test
+  void 受講生詳細の一括出力_Cursorで読み込んだ情報がコンバーターに渡されCursorが閉じられること() throws Exception {
+    // 事前準備
+    @SuppressWarnings("unchecked")
+    Cursor<Student> students = Mockito.mock(Cursor.class);
+    @SuppressWarnings("unchecked")
+    Cursor<StudentCourse> studentCourses = Mockito.mock(Cursor.class);
+    Consumer<StudentDetail> consumer = studentDetail -> {};
+    Mockito.when(repository.streamStudents()).thenReturn(students);
+    Mockito.when(repository.streamStudentCourses()).thenReturn(studentCourses);
+    // 実行
+    sut.exportStudentDetails(consumer);
+    // 検証
+    Mockito.verify(converter, Mockito.times(1)).streamStudentDetails(students, studentCourses, consumer);
+    Mockito.verify(students, Mockito.times(1)).close();
+    Mockito.verify(studentCourses, Mockito.times(1)).close();
+  }
+
+  @Test
+  void 受講生数検索_論理削除されていない受講生数と論理削除されている受講生数が返却されること() {
+    // 事前準備
+    Mockito.when(repository.countStudents()).thenReturn(4L);
+    Mockito.when(repository.countDeletedStudents()).thenReturn(1L);
+    // 実行
+    StudentCount actual = sut.countStudents();
+    // 検証
+    assertThat(actual.getStudents()).isEqualTo(4);
+    assertThat(actual.getDeletedStudents()).isEqualTo(1);
   }
 
+  @Test
+  void 申し込み状況ごとの受講生コース数検索_該当するものがない申し込み状況が0件として定義順に補われること() {
+    // 事前準備
+    Mockito.when(repository.countStudentCoursesByStatus()).thenReturn(List.of(
+        new StudentCourseStatusCount(StudentCourseStatusType.IN_PROGRESS, 4, 3)
+    ));
+    // 実行
+    List<StudentCourseStatusCount> actual = sut.countStudentCoursesByStatus();
+    // 検証
+    assertThat(actual).extracting(StudentCourseStatusCount::getStatus, StudentCourseStatusCount::getEnrollments,
+            StudentCourseStatusCount::getStudents)
+        .containsExactly(
+            tuple(StudentCourseStatusType.PRE_ENROLLMENT, 0L, 0L),
+            tuple(StudentCourseStatusType.IN_PROGRESS, 4L, 3L),
+            tuple(StudentCourseStatusType.COMPLETED, 0L, 0L));
+  }
 }
@@ -8,7 +8,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
-import raisetech.student.management.data.StudentCourseStatus;
 import raisetech.student.management.domain.StudentDetail;
 
 class StudentConverterTest {
@@ -106,52 +105,54 @@ class StudentConverterTest {
   }
 
   @Test
-  void 申し込み状況に該当するものに限定して受講生詳細の変換でStudentCourseStatusに含まれるStudentCourseのみマッピングされること() {
+  void 受講生詳細の変換で受講生情報とコース情報の順序が保たれること() {
     // 事前準備
     List<Student> students = new ArrayList<>(List.of(
+        new Student(3, "CCC", "ccc", null, "ccc@example.com", null, 3, null, null, false),
         new Student(1, "AAA", "aaa", null, "aaa@example.com", null, 1, null, null, false),
         new Student(2, "BBB", "bbb", null, "bbb@example.com", null, 2, null, null, false)
     ));
     List<StudentCourse> studentCourses = new ArrayList<>(List.of(
-        new StudentCourse(1, 1, null, null, 1),
-        new StudentCourse(2, 1, null, null, 2),
-        new StudentCourse(3, 2, null, null, 1)
-    ));
-    List<StudentCourseStatus> studentCourseStatuses = new ArrayList<>(List.of(
-        new StudentCourseStatus(2, 2, "受講中")
+        new StudentCourse(4, 1, null, null, 2),
+        new StudentCourse(1, 3, null, null, 1),
+        new StudentCourse(2, 1, null, null, 1),
+        new StudentCourse(3, 3, null, null, 3)
     ));
     // 実行
-    List<StudentDetail> actual = sut.convertStudentDetailsWithStatus(students, studentCourses,
-        studentCourseStatuses);
+    List<StudentDetail> actual = sut.convertStudentDetails(students, studentCourses);
     // 検証
-    // actualのサイズが1であること
-    assertThat(actual.size()).isEqualTo(1);
-    // actualのStudentIdが1であること
-    assertThat(actual.get(0).getStudent().getId()).isEqualTo(1);
-    // actualのStudentCourseのサイズが1であること
-    assertThat(actual.get(0).getStudentCourses().size()).isEqualTo(1);
-    // actualのStudentCourseのIdが2であること
-    assertThat(actual.get(0).getStudentCourses().get(0).getId()).isEqualTo(2);
+    // 受講生詳細の順序が受講生情報の順序と一致すること
+    assertThat(actual).extracting(studentDetail -> studentDetail.getStudent().getId())
+        .containsExactly(3, 1, 2);
+    // 各受講生のコース情報の順序が元の一覧の順序と一致すること
+    assertThat(actual.get(0).getStudentCourses()).extracting(StudentCourse::getId).containsExactly(1, 3);
+    assertThat(actual.get(1).getStudentCourses()).extracting(StudentCourse::getId).containsExactly(4, 2);
+    assertThat(actual.get(2).getStudentCourses()).isEmpty();
   }
 
   @Test
-  void 申し込み状況に該当するものに限定して受講生詳細の変換でStudentCourseStatusが空である場合はからのListが返されること() {
-    // 事前準備
+  void 受講生詳細の逐次変換で受講生IDが一致するコース情報がマッピングされ順序が保たれること() {
+    // 事前準備（どちらも受講生IDの昇順）
     List<Student> students = new ArrayList<>(List.of(
         new Student(1, "AAA", "aaa", null, "aaa@example.com", null, 1, null, null, false),
-        new Student(2, "BBB", "bbb", null, "bbb@example.com", null, 2, null, null, false)
+        new Student(3, "CCC", "ccc", null, "ccc@example.com", null, 3, null, null, false),
+        new Student(4, "DDD", "ddd", null, "ddd@example.com", null, 4, null, null, false)
     ));
     List<StudentCourse> studentCourses = new ArrayList<>(List.of(
         new StudentCourse(1, 1, null, null, 1),
         new StudentCourse(2, 1, null, null, 2),
-        new StudentCourse(3, 2, null, null, 1)
+        new StudentCourse(3, 2, null, null, 1), // 受講生情報に含まれない受講生のコース情報
+        new StudentCourse(4, 3, null, null, 1),
+        new StudentCourse(5, 5, null, null, 1)  // 受講生情報に含まれない受講生のコース情報
     ));
-    List<StudentCourseStatus> studentCourseStatuses = new ArrayList<>();
+    List<StudentDetail> actual = new ArrayList<>();
     // 実行
-    List<StudentDetail> actual = sut.convertStudentDetailsWithStatus(students, studentCourses,
-        studentCourseStatuses);
+    sut.streamStudentDetails(students, studentCourses, actual::add);
     // 検証
-    // actualが空であること
-    assertThat(actual.size()).isEqualTo(0);
+    assertThat(actual).extracting(studentDetail -> studentDetail.getStudent().getId())
+        .containsExactly(1, 3, 4);
+    assertThat(actual.get(0).getStudentCourses()).extracting(StudentCourse::getId).containsExactly(1, 2);
+    assertThat(actual.get(1).getStudentCourses()).extracting(StudentCourse::getId).containsExactly(4);
+    assertThat(actual.get(2).getStudentCourses()).isEmpty();
   }
 }
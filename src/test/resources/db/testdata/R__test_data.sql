@@ -1,3 +1,5 @@
+-- テスト用データ（テスト時のみFlywayでdb/migrationの適用後に投入される）
+
 INSERT INTO students (name, kana_name, nickname, email, living_area, age, gender, remark, deleted) VALUES
 ('山田太郎', 'やまだたろう', 'たろう', 'taro.yamada@example.com', '東京都新宿区', 20, '男性', '', 0),
 ('鈴木花子', 'すずきはなこ', 'はな', 'hanako.suzuki@example.com', '大阪府大阪市', 22, '女性', '', 0),
@@ -25,9 +27,9 @@ INSERT INTO student_courses (student_id, start_date, end_due_date, course_id) VA
 
 -- Insert data into the student_course_statuses table
 INSERT INTO student_course_statuses (student_course_id, status) VALUES
-(1, '受講中'),
-(2, '受講中'),
-(3, '受講中'),
-(4, '受講中'),
-(5, '仮申し込み'),
-(6, '完了');
+(1, 2), -- 受講中
+(2, 2), -- 受講中
+(3, 2), -- 受講中
+(4, 2), -- 受講中
+(5, 1), -- 仮申し込み
+(6, 3); -- 完了